@@ -0,0 +1,76 @@
+package com.vaadin.componentfactory.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.componentfactory.EnhancedFormLayout;
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.componentfactory.FormLayoutBlueprint;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep;
+import com.vaadin.flow.component.textfield.TextField;
+
+/**
+ * Per-UI construction time of a 100 item form built from scratch, compared
+ * with stamping it from a {@link FormLayoutBlueprint}. Both set the same
+ * styles, so the difference comes from stamping adding the form items with a
+ * single call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlueprintBenchmark {
+
+    private static final int ITEMS = 100;
+    private static final ResponsiveStep[] STEPS = {
+            new ResponsiveStep("0", 1), new ResponsiveStep("20em", 2),
+            new ResponsiveStep("40em", 3) };
+
+    private FormLayoutBlueprint blueprint;
+
+    @Setup
+    public void setup() {
+        FormLayoutBlueprint.Builder builder = FormLayoutBlueprint.builder()
+                .withResponsiveSteps(STEPS).withFormItemLabelWidth("10em")
+                .withLabelsRightAligned(true);
+        for (int i = 0; i < ITEMS; i++) {
+            FormLayoutBlueprint.ItemBlueprint item = FormLayoutBlueprint
+                    .item("field" + i, "Field " + i);
+            builder.addItem(i % 10 == 0 ? item.withColspan(2) : item);
+        }
+        blueprint = builder.build();
+    }
+
+    @Benchmark
+    public EnhancedFormLayout fromScratch() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.setFormItemLabelWidth("10em");
+        layout.setLabelsRightAligned(true);
+        layout.setResponsiveSteps(STEPS);
+        for (int i = 0; i < ITEMS; i++) {
+            EnhancedFormItem formItem = layout.addFormItem(new TextField(),
+                    "Field " + i);
+            if (i % 10 == 0) {
+                layout.setColspan(formItem, 2);
+            }
+        }
+        return layout;
+    }
+
+    @Benchmark
+    public EnhancedFormLayout fromBlueprint() {
+        return blueprint.createLayout(key -> new TextField());
+    }
+}
@@ -0,0 +1,34 @@
+package com.vaadin.componentfactory.benchmark;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.vaadin.componentfactory.EnhancedFormLayout;
+import com.vaadin.flow.component.textfield.TextField;
+
+/**
+ * Reports the retained heap of layouts with 10, 100 and 1000 form items and
+ * the heap per form item, measured by walking the object graph of the layout.
+ * The graph includes the fields and labels, as they are retained by the form
+ * items. This is a command line tool printing a table to stdout, not a
+ * benchmark or a test. The benchmark profile runs it after the benchmarks.
+ */
+public class FormItemFootprint {
+
+    private static final int[] ITEM_COUNTS = { 10, 100, 1000 };
+
+    public static void main(String[] args) {
+        long emptySize = GraphLayout.parseInstance(new EnhancedFormLayout())
+                .totalSize();
+        System.out.printf("%8s %14s %14s%n", "Items", "Layout bytes",
+                "Bytes/item");
+        for (int count : ITEM_COUNTS) {
+            EnhancedFormLayout layout = new EnhancedFormLayout();
+            for (int i = 0; i < count; i++) {
+                layout.addFormItem(new TextField(), "Field " + i);
+            }
+            long size = GraphLayout.parseInstance(layout).totalSize();
+            System.out.printf("%8d %14d %14d%n", count, size,
+                    (size - emptySize) / count);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.vaadin.componentfactory.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.componentfactory.EnhancedFormLayout;
+import com.vaadin.componentfactory.FormItemSpec;
+import com.vaadin.flow.component.textfield.TextField;
+
+/**
+ * Time of building a layout with the given number of form items, with one
+ * {@link EnhancedFormLayout#addFormItem(com.vaadin.flow.component.Component, String)}
+ * call per item and with a single
+ * {@link EnhancedFormLayout#addFormItems(java.util.Collection)} call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutConstructionBenchmark {
+
+    @Param({ "10", "100", "500", "1000" })
+    private int items;
+
+    @Benchmark
+    public EnhancedFormLayout addFormItem() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        for (int i = 0; i < items; i++) {
+            layout.addFormItem(new TextField(), "Field " + i);
+        }
+        return layout;
+    }
+
+    @Benchmark
+    public EnhancedFormLayout addFormItems() {
+        List<FormItemSpec> specs = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            specs.add(new FormItemSpec(new TextField(), "Field " + i));
+        }
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.addFormItems(specs);
+        return layout;
+    }
+}
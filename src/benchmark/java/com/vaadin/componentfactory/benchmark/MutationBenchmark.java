@@ -0,0 +1,64 @@
+package com.vaadin.componentfactory.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.componentfactory.EnhancedFormLayout;
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.componentfactory.EnhancedFormLayout.FormLayoutOrientation;
+import com.vaadin.flow.component.html.Label;
+import com.vaadin.flow.component.textfield.TextField;
+
+/**
+ * Cost of changing the label of a form item and the orientation of a layout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+
+    private EnhancedFormLayout layout;
+    private EnhancedFormItem formItem;
+    private boolean toggle;
+
+    @Setup
+    public void setup() {
+        layout = new EnhancedFormLayout();
+        for (int i = 0; i < 100; i++) {
+            layout.addFormItem(new TextField(), "Field " + i);
+        }
+        formItem = layout.addFormItem(new TextField(), "Label");
+    }
+
+    @Benchmark
+    public void setLabelText() {
+        toggle = !toggle;
+        formItem.setLabel(toggle ? "First name" : "Last name");
+    }
+
+    @Benchmark
+    public void setLabelComponent() {
+        // Clears the previous label before adding the new one
+        formItem.setLabel(new Label("First name"));
+    }
+
+    @Benchmark
+    public void setOrientation() {
+        toggle = !toggle;
+        layout.setOrientation(toggle ? FormLayoutOrientation.VERTICAL
+                : FormLayoutOrientation.HORIZONTAL);
+    }
+}
@@ -0,0 +1,60 @@
+package com.vaadin.componentfactory.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.componentfactory.EnhancedFormLayout;
+import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep.LabelsPosition;
+
+/**
+ * Cost of {@link EnhancedFormLayout#getResponsiveSteps()}, compared with
+ * {@link FormLayout#getResponsiveSteps()} parsing the steps on every call.
+ * Run with {@code -prof gc} to see the allocations per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponsiveStepsBenchmark {
+
+    private FormLayout formLayout;
+    private EnhancedFormLayout enhancedFormLayout;
+
+    @Setup
+    public void setup() {
+        formLayout = new FormLayout();
+        enhancedFormLayout = new EnhancedFormLayout();
+        for (FormLayout layout : new FormLayout[] { formLayout,
+                enhancedFormLayout }) {
+            layout.setResponsiveSteps(
+                    new ResponsiveStep("0", 1, LabelsPosition.TOP),
+                    new ResponsiveStep("20em", 2),
+                    new ResponsiveStep("40em", 3));
+        }
+    }
+
+    @Benchmark
+    public List<ResponsiveStep> formLayout() {
+        return formLayout.getResponsiveSteps();
+    }
+
+    @Benchmark
+    public List<ResponsiveStep> enhancedFormLayout() {
+        return enhancedFormLayout.getResponsiveSteps();
+    }
+}
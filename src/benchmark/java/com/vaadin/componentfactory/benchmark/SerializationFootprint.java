@@ -0,0 +1,65 @@
+package com.vaadin.componentfactory.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+import com.vaadin.componentfactory.EnhancedFormLayout;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.textfield.TextField;
+
+/**
+ * Reports the serialized size and the serialization time of a UI with a 500
+ * item form, like session replication serializes it, compared with the plain
+ * FormLayout. This is a command line tool printing a table to stdout, not a
+ * benchmark or a test. The benchmark profile runs it after the benchmarks.
+ */
+public class SerializationFootprint {
+
+    private static final int ITEMS = 500;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws IOException {
+        UI enhanced = createUI(new EnhancedFormLayout());
+        UI plain = createUI(new FormLayout());
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            serialize(enhanced);
+            serialize(plain);
+        }
+        System.out.printf("%-20s %14s %14s%n", "Layout", "Bytes",
+                "Time us");
+        report("EnhancedFormLayout", enhanced);
+        report("FormLayout", plain);
+    }
+
+    private static void report(String name, UI ui) throws IOException {
+        int size = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            size = serialize(ui).length;
+        }
+        long micros = (System.nanoTime() - start) / ROUNDS / 1000;
+        System.out.printf("%-20s %14d %14d%n", name, size, micros);
+    }
+
+    private static UI createUI(FormLayout layout) {
+        UI ui = new UI();
+        ui.add(layout);
+        for (int i = 0; i < ITEMS; i++) {
+            TextField field = new TextField();
+            field.setRequiredIndicatorVisible(true);
+            layout.addFormItem(field, "Field " + i);
+        }
+        return ui;
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+}
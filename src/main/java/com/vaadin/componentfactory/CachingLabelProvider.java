@@ -0,0 +1,50 @@
+package com.vaadin.componentfactory;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Label provider caching the resolved texts per locale.
+ *
+ * @see LabelProvider#cached(LabelProvider)
+ */
+class CachingLabelProvider implements LabelProvider {
+
+    // Stand-in for null texts, which ConcurrentHashMap can't store
+    private static final String NO_LABEL = new String();
+
+    private final LabelProvider provider;
+    private transient volatile Map<Locale, Map<String, String>> cache;
+
+    CachingLabelProvider(LabelProvider provider) {
+        this.provider = Objects.requireNonNull(provider,
+                "Provider can't be null");
+    }
+
+    @Override
+    public String getLabel(String key, Locale locale) {
+        String label = getCache()
+                .computeIfAbsent(locale, l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> {
+                    String text = provider.getLabel(k, locale);
+                    return text != null ? text : NO_LABEL;
+                });
+        return label == NO_LABEL ? null : label;
+    }
+
+    private Map<Locale, Map<String, String>> getCache() {
+        // The cache is transient and created lazily after deserialization
+        Map<Locale, Map<String, String>> result = cache;
+        if (result == null) {
+            synchronized (this) {
+                if (cache == null) {
+                    cache = new ConcurrentHashMap<>();
+                }
+                result = cache;
+            }
+        }
+        return result;
+    }
+}
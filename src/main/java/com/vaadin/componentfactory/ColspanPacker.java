@@ -0,0 +1,131 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes colspans for a sequence of form items, each having a minimum and
+ * a maximum colspan, so that the items need as few rows as possible and,
+ * among those, leave as few empty cells as possible. The order of the items
+ * is kept and the rows break like vaadin-form-layout breaks them, i.e. an
+ * item goes to the next row only when it does not fit the current one.
+ * <p>
+ * The result is cached per column count. When the items change, only the
+ * part after the first changed item is computed again, so appending or
+ * removing items at the end is cheap.
+ */
+final class ColspanPacker implements Serializable {
+
+    private final Map<Integer, Packing> packings = new HashMap<>();
+
+    /**
+     * Computes the colspans for the given items.
+     *
+     * @param minColspans
+     *            Minimum colspan per item, at least 1
+     * @param maxColspans
+     *            Maximum colspan per item, at least the minimum
+     * @param columns
+     *            Number of columns, must be positive
+     * @return Colspan per item, the array must not be modified
+     */
+    int[] pack(int[] minColspans, int[] maxColspans, int columns) {
+        int[] mins = new int[minColspans.length];
+        int[] maxs = new int[maxColspans.length];
+        for (int i = 0; i < mins.length; i++) {
+            mins[i] = Math.min(minColspans[i], columns);
+            maxs[i] = Math.max(mins[i], Math.min(maxColspans[i], columns));
+        }
+        return packings.computeIfAbsent(columns, Packing::new).pack(mins,
+                maxs);
+    }
+
+    private static final class Packing implements Serializable {
+
+        private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+        private final int columns;
+        private int[] mins = new int[0];
+        private int[] maxs = new int[0];
+        // Best packing of the first i items, with the row break before item
+        // i being one that vaadin-form-layout would also make
+        private int[] rows = { 0 };
+        private int[] waste = { 0 };
+        private int[] rowStart = { 0 };
+        private int[] colspans = new int[0];
+
+        private Packing(int columns) {
+            this.columns = columns;
+        }
+
+        private int[] pack(int[] newMins, int[] newMaxs) {
+            if (Arrays.equals(mins, newMins) && Arrays.equals(maxs, newMaxs)) {
+                return colspans;
+            }
+            int n = newMins.length;
+            int valid = 0;
+            int common = Math.min(mins.length, n);
+            while (valid < common && mins[valid] == newMins[valid]
+                    && maxs[valid] == newMaxs[valid]) {
+                valid++;
+            }
+            // The state of i depends on the items up to and including i, so
+            // the states before the first changed item are still valid
+            rows = Arrays.copyOf(rows, n + 1);
+            waste = Arrays.copyOf(waste, n + 1);
+            rowStart = Arrays.copyOf(rowStart, n + 1);
+            mins = newMins;
+            maxs = newMaxs;
+            for (int i = Math.max(valid, 1); i <= n; i++) {
+                solve(i);
+            }
+            colspans = distribute(n);
+            return colspans;
+        }
+
+        private void solve(int end) {
+            rows[end] = UNREACHABLE;
+            int sumMin = 0;
+            int sumMax = 0;
+            for (int start = end - 1; start >= 0; start--) {
+                sumMin += mins[start];
+                sumMax += maxs[start];
+                if (sumMin > columns) {
+                    break;
+                }
+                int rowWaste = Math.max(0, columns - sumMax);
+                // The next item would otherwise move up to this row
+                if ((end < mins.length && rowWaste >= mins[end])
+                        || rows[start] == UNREACHABLE) {
+                    continue;
+                }
+                int candidateRows = rows[start] + 1;
+                int candidateWaste = waste[start] + rowWaste;
+                if (candidateRows < rows[end] || (candidateRows == rows[end]
+                        && candidateWaste < waste[end])) {
+                    rows[end] = candidateRows;
+                    waste[end] = candidateWaste;
+                    rowStart[end] = start;
+                }
+            }
+        }
+
+        private int[] distribute(int n) {
+            int[] result = new int[n];
+            for (int end = n; end > 0; end = rowStart[end]) {
+                int extra = columns;
+                for (int i = rowStart[end]; i < end; i++) {
+                    extra -= mins[i];
+                }
+                for (int i = rowStart[end]; i < end; i++) {
+                    int grow = Math.min(extra, maxs[i] - mins[i]);
+                    result[i] = mins[i] + grow;
+                    extra -= grow;
+                }
+            }
+            return result;
+        }
+    }
+}
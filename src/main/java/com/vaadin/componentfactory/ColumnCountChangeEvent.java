@@ -0,0 +1,53 @@
+package com.vaadin.componentfactory;
+
+import com.vaadin.flow.component.ComponentEvent;
+
+/**
+ * Event fired when the number of columns of {@link EnhancedFormLayout}
+ * changes, i.e. when the browser selects another responsive step.
+ *
+ * @see EnhancedFormLayout#addColumnCountChangeListener(com.vaadin.flow.component.ComponentEventListener)
+ */
+public class ColumnCountChangeEvent extends ComponentEvent<EnhancedFormLayout> {
+
+    private final int columns;
+    private final int previousColumns;
+
+    /**
+     * Creates a new event.
+     *
+     * @param source
+     *            The layout
+     * @param fromClient
+     *            Whether the event originated from the client side
+     * @param columns
+     *            The new number of columns
+     * @param previousColumns
+     *            The previous number of columns, 0 if not known
+     */
+    public ColumnCountChangeEvent(EnhancedFormLayout source,
+            boolean fromClient, int columns, int previousColumns) {
+        super(source, fromClient);
+        this.columns = columns;
+        this.previousColumns = previousColumns;
+    }
+
+    /**
+     * Gets the new number of columns.
+     *
+     * @return Number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of columns before the change.
+     *
+     * @return Number of columns, 0 if not known, e.g. for the first event
+     *         after attach
+     */
+    public int getPreviousColumns() {
+        return previousColumns;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vaadin.componentfactory;
+
+import com.vaadin.flow.component.ComponentEvent;
+
+/**
+ * Event fired when {@link EnhancedFormLayout} becomes dirty, i.e. the value of
+ * some of its fields differs from the baseline, or clean again.
+ *
+ * @see EnhancedFormLayout#markClean()
+ * @see EnhancedFormLayout#addDirtyStateChangeListener(com.vaadin.flow.component.ComponentEventListener)
+ */
+public class DirtyStateChangeEvent extends ComponentEvent<EnhancedFormLayout> {
+
+    private final boolean dirty;
+
+    /**
+     * Creates a new event.
+     *
+     * @param source
+     *            The layout
+     * @param fromClient
+     *            Whether the event originated from the client side
+     * @param dirty
+     *            Whether the layout is dirty
+     */
+    public DirtyStateChangeEvent(EnhancedFormLayout source, boolean fromClient,
+            boolean dirty) {
+        super(source, fromClient);
+        this.dirty = dirty;
+    }
+
+    /**
+     * Checks whether the layout is dirty after the change.
+     *
+     * @return A boolean value
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+}
@@ -0,0 +1,158 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+
+/**
+ * Baseline field values of the form items of a layout, and one bit per form
+ * item telling whether its value differs from the baseline. The tracker is
+ * created only when dirty tracking is turned on, so the form items carry no
+ * tracking state before that.
+ *
+ * @see EnhancedFormLayout#markClean()
+ */
+final class DirtyTracker implements Serializable {
+
+    // Free slots below this are never worth compacting
+    private static final int MIN_COMPACTED_SLOTS = 16;
+
+    private final Map<EnhancedFormItem, Integer> slots = new IdentityHashMap<>();
+    // Form items and their baselines by slot, null for untracked form items.
+    // The slots are compacted once at least half of them are free.
+    private final List<EnhancedFormItem> formItems = new ArrayList<>();
+    private final List<Object> baselines = new ArrayList<>();
+    private final BitSet dirtyItems = new BitSet();
+    private int dirtyCount;
+    private int freeSlots;
+
+    /**
+     * Forgets all the tracked form items.
+     */
+    void reset() {
+        slots.clear();
+        formItems.clear();
+        baselines.clear();
+        dirtyItems.clear();
+        dirtyCount = 0;
+        freeSlots = 0;
+    }
+
+    /**
+     * Compares the given value to the baseline of the form item. A form item
+     * not tracked yet gets the value as its baseline.
+     *
+     * @param formItem
+     *            The form item
+     * @param value
+     *            The current field value of the form item
+     * @return Whether the dirty state of the layout may have changed
+     */
+    boolean update(EnhancedFormItem formItem, Object value) {
+        Integer slot = slots.get(formItem);
+        if (slot == null) {
+            slots.put(formItem, formItems.size());
+            formItems.add(formItem);
+            baselines.add(value);
+            return false;
+        }
+        boolean dirty = !Objects.equals(value, baselines.get(slot));
+        if (dirty == dirtyItems.get(slot)) {
+            return false;
+        }
+        dirtyItems.set(slot, dirty);
+        dirtyCount += dirty ? 1 : -1;
+        return true;
+    }
+
+    /**
+     * Stops tracking the given form item.
+     *
+     * @param formItem
+     *            The form item
+     * @return Whether the dirty state of the layout may have changed
+     */
+    boolean untrack(EnhancedFormItem formItem) {
+        Integer slot = slots.remove(formItem);
+        if (slot == null) {
+            return false;
+        }
+        formItems.set(slot, null);
+        baselines.set(slot, null);
+        freeSlots++;
+        boolean wasDirty = dirtyItems.get(slot);
+        if (wasDirty) {
+            dirtyItems.clear(slot);
+            dirtyCount--;
+        }
+        compactIfSparse();
+        return wasDirty;
+    }
+
+    /**
+     * Gets the number of slots, including the free ones.
+     *
+     * @return Number of slots
+     */
+    int size() {
+        return formItems.size();
+    }
+
+    private void compactIfSparse() {
+        if (freeSlots < MIN_COMPACTED_SLOTS
+                || freeSlots * 2 < formItems.size()) {
+            return;
+        }
+        // Keeps the order the form items were tracked in
+        BitSet compactedDirty = new BitSet();
+        int to = 0;
+        for (int from = 0; from < formItems.size(); from++) {
+            EnhancedFormItem formItem = formItems.get(from);
+            if (formItem == null) {
+                continue;
+            }
+            formItems.set(to, formItem);
+            baselines.set(to, baselines.get(from));
+            compactedDirty.set(to, dirtyItems.get(from));
+            slots.put(formItem, to);
+            to++;
+        }
+        formItems.subList(to, formItems.size()).clear();
+        baselines.subList(to, baselines.size()).clear();
+        dirtyItems.clear();
+        dirtyItems.or(compactedDirty);
+        freeSlots = 0;
+    }
+
+    /**
+     * Checks whether the value of some tracked form item differs from its
+     * baseline.
+     *
+     * @return A boolean value
+     */
+    boolean isDirty() {
+        return dirtyCount > 0;
+    }
+
+    /**
+     * Gets the form items whose value differs from their baseline.
+     *
+     * @return Unmodifiable list of the form items in the order they were
+     *         tracked
+     */
+    List<EnhancedFormItem> getDirtyItems() {
+        List<EnhancedFormItem> dirty = new ArrayList<>(dirtyCount);
+        for (int slot = dirtyItems.nextSetBit(0); slot >= 0; slot = dirtyItems
+                .nextSetBit(slot + 1)) {
+            dirty.add(formItems.get(slot));
+        }
+        return Collections.unmodifiableList(dirty);
+    }
+}
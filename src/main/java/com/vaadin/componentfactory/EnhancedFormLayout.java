@@ -1,18 +1,52 @@
 package com.vaadin.componentfactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.vaadin.componentfactory.FormLayoutMetrics.StyleMutation;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.HasText;
 import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.HasValue.ValueChangeEvent;
+import com.vaadin.flow.component.HasValue.ValueChangeListener;
+import com.vaadin.flow.component.Text;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep;
 import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep.LabelsPosition;
 import com.vaadin.flow.component.html.Label;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.dom.PropertyChangeEvent;
+import com.vaadin.flow.dom.PropertyChangeListener;
+import com.vaadin.flow.dom.Style;
+import com.vaadin.flow.dom.ThemeList;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.Registration;
 
 import elemental.json.JsonArray;
@@ -20,6 +54,9 @@ import elemental.json.JsonObject;
 
 @CssImport(value = "./styles/enhanced-form-item.css", themeFor = "vaadin-form-item")
 @CssImport(value = "./styles/enhanced-form-layout.css", themeFor = "vaadin-form-layout")
+@CssImport("./styles/enhanced-form-item-indicator.css")
+@CssImport("./styles/enhanced-form-section.css")
+@CssImport("./styles/enhanced-form-item-filter.css")
 public class EnhancedFormLayout extends FormLayout {
 
     public enum FormLayoutOrientation {
@@ -29,10 +66,77 @@ public class EnhancedFormLayout extends FormLayout {
     private static final String MIN_WIDTH_JSON_KEY = "minWidth";
     private static final String COLUMNS_JSON_KEY = "columns";
     private static final String LABELS_POSITION_JSON_KEY = "labelsPosition";
-    private String formItemLabelWidth;
-    private String formItemRowSpacing;
+    private static final String RANGE_EVENT = "enhanced-form-layout-range";
+    private static final String VIRTUALIZED_ROOT_MARGIN = "200px";
+    private static final int RANGE_EVENT_THROTTLE = 200;
+    private static final String COLUMNS_EVENT = "enhanced-form-layout-columns";
+    private static final String COLUMNS_EVENT_DATA = "event.detail.columns";
+    private static final int COLUMNS_EVENT_DEBOUNCE = 200;
+    private static final String REQUIRED_DOT_OPACITY = "--required-dot-opacity";
+    private static final String DEFAULT_REQUIRED_DOT_OPACITY = "--enhanced-form-item-required-dot-opacity";
+    private static final String LABEL_WIDTH = "--vaadin-form-item-label-width";
+    private static final String ROW_SPACING = "--vaadin-form-item-row-spacing";
+    private static final String DEFAULT_LABEL_WIDTH = "--enhanced-form-item-label-width";
+    private static final String DEFAULT_ROW_SPACING = "--enhanced-form-item-row-spacing";
+    private static final String CLIENT_INDICATOR_THEME = "client-indicator";
+    private static final String STICKY_INDICATOR_THEME = "sticky-indicator";
+    private static final String REQUIRED_DOT_ATTRIBUTE = "required-dot";
+    private static final String FILTERED_ATTRIBUTE = "filtered";
+    private static final String COLSPAN_RANGE_KEY = "enhanced-form-layout-colspan-range";
+    private static final String ITEM_KEY = "enhanced-form-layout-item-key";
+    private static final String POOLED_FIELD_TYPE_KEY = "enhanced-form-layout-pooled-field-type";
+    private static final String LABEL_KEY = "enhanced-form-layout-label-key";
+    private static final String READ_ONLY_TEXT_KEY = "enhanced-form-layout-read-only-text";
+    private static final String READ_ONLY_VIEW_KEY = "enhanced-form-layout-read-only-view";
+    // vaadin-form-layout limits colspan to the current number of columns
+    private static final int FULL_WIDTH_COLSPAN = 100;
     private boolean stickyIndicator = false;
     private boolean labelsRightAligned;
+    private boolean clientSideRequiredIndicator;
+    private boolean virtualized;
+    private int virtualizedChunkSize = 50;
+    private final Deque<FormItemSpec> pendingItems = new ArrayDeque<>();
+    // Last form item created from the pending specs, the next chunk is
+    // inserted after it to keep the order of later added components
+    private Component pendingBoundary;
+    private Registration rangeListenerReg;
+    private Registration columnsListenerReg;
+    private int currentColumns;
+    private ColspanPacker colspanPacker;
+    private Registration packingColumnsReg;
+    private boolean packingPending;
+    private transient JsonArray cachedStepsJson;
+    private transient List<ResponsiveStep> cachedSteps;
+    private FormLayoutMetrics metrics;
+    private Locale labelLocale;
+    private Registration indicatorBinderReg;
+    private Binder<?> indicatorBinder;
+    private boolean indicatorUpdatePending;
+    private LabelProvider labelProvider;
+    private boolean readOnly;
+    private FormItemPool formItemPool;
+    // Created by the first markClean
+    private DirtyTracker dirtyTracker;
+    private boolean dirtyEventPending;
+    private boolean dirtyEventState;
+    // Form items detached from this layout, released before the response
+    // unless they were only moved within it
+    private final List<EnhancedFormItem> detachedItems = new ArrayList<>();
+    private boolean detachedItemsPending;
+    // Set while the label width is estimated
+    private LabelWidthEstimator labelWidthEstimator;
+    private String autoLabelWidth;
+    private String filter = "";
+    // Built on first filtering
+    private LabelIndex labelIndex;
+    private boolean filterRelayoutPending;
+    private SerializableFunction<Object, String> readOnlyFormatter = EnhancedFormLayout::formatValue;
+
+    public EnhancedFormLayout() {
+        // Form items inherit the hidden indicator from the layout and carry
+        // an inline override only when the indicator is shown
+        getStyle().set(DEFAULT_REQUIRED_DOT_OPACITY, "0");
+    }
 
     @Override
     public EnhancedFormItem addFormItem(Component field, String label) {
@@ -41,17 +145,1113 @@ public class EnhancedFormLayout extends FormLayout {
 
     @Override
     public EnhancedFormItem addFormItem(Component field, Component label) {
+        long start = metrics != null ? System.nanoTime() : 0;
         EnhancedFormItem formItem = new EnhancedFormItem(field, label);
+        initFormItem(formItem, labelsRightAligned);
         add(formItem);
+        if (metrics != null) {
+            metrics.itemsAdded(this, 1, System.nanoTime() - start);
+        }
+        return formItem;
+    }
+
+    /**
+     * Adds a form item whose field component is created only when the form
+     * item is first shown, i.e. attached and visible. Until then only the
+     * form item and its label exist.
+     *
+     * @param field
+     *            Supplier creating the field component
+     * @param label
+     *            Label text as String
+     * @return The created form item
+     */
+    public EnhancedFormItem addLazyFormItem(
+            SerializableSupplier<? extends Component> field, String label) {
+        return insertLazyFormItem(getElement().getChildCount(), field, label,
+                true);
+    }
+
+    EnhancedFormItem insertLazyFormItem(int index,
+            SerializableSupplier<? extends Component> field, String label,
+            boolean visible) {
+        long start = metrics != null ? System.nanoTime() : 0;
+        EnhancedFormItem formItem = new EnhancedFormItem(field,
+                new Label(label));
+        initFormItem(formItem, labelsRightAligned);
+        // Visibility must be set before attaching, as attaching a visible
+        // item creates the field
+        formItem.setVisible(visible);
+        addComponentAtIndex(index, formItem);
+        if (metrics != null) {
+            metrics.itemsAdded(this, 1, System.nanoTime() - start);
+        }
         return formItem;
     }
 
+    /**
+     * Adds a collapsible section header spanning the full width of the
+     * layout. Form items added to the section with
+     * {@link FormSection#addLazyFormItem(SerializableSupplier, String)} are
+     * placed after the header and their field components are created only
+     * when the section is expanded for the first time.
+     *
+     * @param caption
+     *            Caption of the section
+     * @return The created section, collapsed by default
+     */
+    public FormSection addSection(String caption) {
+        FormSection section = new FormSection(caption);
+        add(section);
+        setColspan(section, FULL_WIDTH_COLSPAN);
+        return section;
+    }
+
+    /**
+     * Adds form items for all the given specs in one pass. The layout defaults
+     * are resolved once and all the items are added to the layout with a
+     * single add call, which is considerably cheaper than calling
+     * {@link #addFormItem(Component, Component)} repeatedly for large forms.
+     * <p>
+     * In virtualized mode the specs are queued and the form items are created
+     * in chunks as the user scrolls towards the end of the layout, see
+     * {@link #setVirtualized(boolean)}. Create the specs with
+     * {@link FormItemSpec#FormItemSpec(SerializableSupplier, String)} so that
+     * the queued specs do not hold field components.
+     *
+     * @param specs
+     *            The field and label specs of the items to be added
+     * @return List of the created form items in the order of the specs. In
+     *         virtualized mode only the items created immediately are
+     *         returned.
+     */
+    public List<EnhancedFormItem> addFormItems(Collection<FormItemSpec> specs) {
+        Objects.requireNonNull(specs, "Specs can't be null");
+        if (virtualized) {
+            boolean idle = pendingItems.isEmpty();
+            pendingItems.addAll(specs);
+            if (!idle) {
+                return Collections.emptyList();
+            }
+            pendingBoundary = null;
+            return addPendingItems(virtualizedChunkSize);
+        }
+        return createFormItems(specs, getElement().getChildCount());
+    }
+
+    private List<EnhancedFormItem> createFormItems(
+            Collection<FormItemSpec> specs, int index) {
+        long start = metrics != null ? System.nanoTime() : 0;
+        boolean rightAligned = labelsRightAligned;
+        List<EnhancedFormItem> formItems = new ArrayList<>(specs.size());
+        Element[] elements = new Element[specs.size()];
+        for (FormItemSpec spec : specs) {
+            EnhancedFormItem formItem = spec.createFormItem();
+            initFormItem(formItem, rightAligned);
+            elements[formItems.size()] = formItem.getElement();
+            formItems.add(formItem);
+        }
+        getElement().insertChild(index, elements);
+        componentsAdded(formItems);
+        if (metrics != null) {
+            metrics.itemsAdded(this, formItems.size(),
+                    System.nanoTime() - start);
+        }
+        return formItems;
+    }
+
+    /**
+     * Sets the form items of this layout to match the given specs. Form items
+     * are matched with the specs by key, so that form items of the previous
+     * call with the same key are reused: their field component and label are
+     * replaced only when changed and they are moved only when needed. Form
+     * items and components not matching any of the specs are removed, and
+     * form items are created only for new keys. Compared to removing all the
+     * form items and adding new ones, this keeps the form items, their
+     * styles and themes and their DOM in the browser, which makes switching
+     * between records of a master-detail view considerably cheaper.
+     * <p>
+     * Note: The form items are created immediately also in virtualized mode,
+     * and the form items still pending in virtualized mode are discarded.
+     * A reused form item keeps its field for a spec created with a field
+     * supplier.
+     *
+     * @param specs
+     *            The specs in the order of the form items
+     * @param keyExtractor
+     *            Function returning a unique key for a spec, the key must
+     *            have proper equals and hashCode
+     * @return The form items in the order of the specs
+     * @throws IllegalArgumentException
+     *             if two specs have the same key
+     */
+    public List<EnhancedFormItem> setItems(List<FormItemSpec> specs,
+            SerializableFunction<FormItemSpec, ?> keyExtractor) {
+        Objects.requireNonNull(specs, "Specs can't be null");
+        Objects.requireNonNull(keyExtractor, "Key extractor can't be null");
+        long start = metrics != null ? System.nanoTime() : 0;
+        pendingItems.clear();
+        pendingBoundary = null;
+        Map<Object, EnhancedFormItem> previousItems = new HashMap<>();
+        getFormItems().forEach(formItem -> {
+            Object key = ComponentUtil.getData(formItem, ITEM_KEY);
+            if (key != null) {
+                previousItems.put(key, formItem);
+            }
+        });
+        boolean rightAligned = labelsRightAligned;
+        List<EnhancedFormItem> formItems = new ArrayList<>(specs.size());
+        Set<Object> keys = new HashSet<>();
+        int created = 0;
+        for (FormItemSpec spec : specs) {
+            Object key = Objects.requireNonNull(keyExtractor.apply(spec),
+                    "Key can't be null");
+            if (!keys.add(key)) {
+                throw new IllegalArgumentException("Duplicate key " + key);
+            }
+            EnhancedFormItem formItem = previousItems.remove(key);
+            if (formItem == null) {
+                formItem = spec.createFormItem();
+                ComponentUtil.setData(formItem, ITEM_KEY, key);
+                initFormItem(formItem, rightAligned);
+                created++;
+            } else {
+                formItem.update(spec);
+            }
+            formItems.add(formItem);
+        }
+        Set<Component> kept = new HashSet<>(formItems);
+        remove(getChildren().filter(child -> !kept.contains(child))
+                .toArray(Component[]::new));
+
+        // Form items in the longest run already in the right order stay in
+        // place, the others are moved or inserted before their successor
+        Map<Component, Integer> previousIndexes = new HashMap<>();
+        getChildren().forEach(child -> previousIndexes.put(child,
+                previousIndexes.size()));
+        int[] sources = new int[formItems.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = previousIndexes.getOrDefault(formItems.get(i), -1);
+        }
+        boolean[] stable = findStableItems(sources);
+        Element successor = null;
+        for (int i = formItems.size() - 1; i >= 0; i--) {
+            EnhancedFormItem formItem = formItems.get(i);
+            if (!stable[i]) {
+                addComponentAtIndex(successor == null
+                        ? getElement().getChildCount()
+                        : getElement().indexOfChild(successor), formItem);
+            }
+            successor = formItem.getElement();
+        }
+        if (created > 0 && metrics != null) {
+            metrics.itemsAdded(this, created, System.nanoTime() - start);
+        }
+        return formItems;
+    }
+
+    static boolean[] findStableItems(int[] sources) {
+        // Longest increasing subsequence of the previous indexes, -1 marks a
+        // new item
+        int[] tails = new int[sources.length];
+        int[] predecessors = new int[sources.length];
+        int length = 0;
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (sources[tails[middle]] < sources[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] stable = new boolean[sources.length];
+        int i = length > 0 ? tails[length - 1] : -1;
+        while (i >= 0) {
+            stable[i] = true;
+            i = predecessors[i];
+        }
+        return stable;
+    }
+
+    /**
+     * Adds form items for the given specs without holding the session lock
+     * while they are built. The specs and the form items are created on the
+     * given executor, and the form items are then attached in chunks, each
+     * chunk in its own {@link UI#access(com.vaadin.flow.server.Command)}, so
+     * other requests of the session can be served between the chunks. The
+     * optional placeholder is shown after the attached form items until all
+     * of them have been attached.
+     * <p>
+     * On Java 21 or later a virtual thread executor, i.e.
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, is a good choice,
+     * as the building thread waits for each chunk to be attached. The chunks
+     * are shown in the browser as they are attached only if the UI has push
+     * enabled, otherwise they are shown on the next round trip.
+     * <p>
+     * Note: The field components created by the supplier must not be attached
+     * to any UI. The form items are added directly also in virtualized mode.
+     * The executor must not run the task on the calling thread, e.g. a
+     * direct or caller-runs executor, as waiting for a chunk to be attached
+     * while holding the session lock would never return. In that case the
+     * future is completed with an {@link IllegalStateException}.
+     *
+     * @param specs
+     *            Supplier of the specs, called on the executor
+     * @param executor
+     *            The executor building the form items
+     * @param chunkSize
+     *            Number of form items attached at once, must be positive
+     * @param placeholder
+     *            Component shown while loading, null for none
+     * @return Future completed with the form items, on the executor thread,
+     *         when all of them have been attached
+     * @throws IllegalStateException
+     *             if the layout is not attached to a UI
+     */
+    public CompletableFuture<List<EnhancedFormItem>> addFormItemsAsync(
+            SerializableSupplier<? extends Collection<FormItemSpec>> specs,
+            Executor executor, int chunkSize, Component placeholder) {
+        Objects.requireNonNull(specs, "Specs can't be null");
+        Objects.requireNonNull(executor, "Executor can't be null");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        UI ui = getUI().orElseThrow(() -> new IllegalStateException(
+                "Layout must be attached to a UI"));
+        if (placeholder != null) {
+            add(placeholder);
+            setColspan(placeholder, FULL_WIDTH_COLSPAN);
+        }
+        CompletableFuture<List<EnhancedFormItem>> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                VaadinSession session = ui.getSession();
+                if (session != null && session.hasLock()) {
+                    throw new IllegalStateException(
+                            "Executor must not run the task while holding the session lock");
+                }
+                List<EnhancedFormItem> formItems = new ArrayList<>();
+                for (FormItemSpec spec : specs.get()) {
+                    formItems.add(spec.createFormItem());
+                }
+                for (int from = 0; from < formItems.size(); from += chunkSize) {
+                    List<EnhancedFormItem> chunk = formItems.subList(from,
+                            Math.min(from + chunkSize, formItems.size()));
+                    // Waiting for each chunk releases the lock in between
+                    ui.access(() -> attachFormItems(chunk, placeholder)).get();
+                }
+                if (placeholder != null) {
+                    ui.access(() -> remove(placeholder)).get();
+                }
+                result.complete(formItems);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            } catch (Exception e) {
+                result.completeExceptionally(
+                        e instanceof ExecutionException ? e.getCause() : e);
+                if (placeholder != null) {
+                    removePlaceholder(ui, placeholder);
+                }
+            }
+        });
+        return result;
+    }
+
+    private void removePlaceholder(UI ui, Component placeholder) {
+        VaadinSession session = ui.getSession();
+        if (session != null && session.hasLock()) {
+            remove(placeholder);
+            return;
+        }
+        try {
+            ui.access(() -> remove(placeholder));
+        } catch (UIDetachedException e) {
+            // The placeholder is gone with the UI
+        }
+    }
+
+    private void attachFormItems(List<EnhancedFormItem> formItems,
+            Component placeholder) {
+        long start = metrics != null ? System.nanoTime() : 0;
+        boolean rightAligned = labelsRightAligned;
+        Element[] elements = new Element[formItems.size()];
+        for (int i = 0; i < elements.length; i++) {
+            initFormItem(formItems.get(i), rightAligned);
+            elements[i] = formItems.get(i).getElement();
+        }
+        // Inserted in one call before the placeholder
+        int index = placeholder != null
+                && placeholder.getParent().orElse(null) == this
+                        ? getElement().indexOfChild(placeholder.getElement())
+                        : getElement().getChildCount();
+        getElement().insertChild(index, elements);
+        formItems.forEach(this::claimFormItem);
+        if (metrics != null) {
+            metrics.itemsAdded(this, elements.length,
+                    System.nanoTime() - start);
+        }
+        schedulePacking();
+    }
+
+    private void initFormItem(EnhancedFormItem formItem,
+            boolean rightAligned) {
+        if (rightAligned) {
+            formItem.setRightAligned(true);
+            reportStyleMutation(StyleMutation.ALIGNMENT);
+        }
+        if (clientSideRequiredIndicator) {
+            formItem.updateRequiredIndicator(true, stickyIndicator);
+        }
+        if (labelProvider != null) {
+            formItem.relabel(labelLocale, labelProvider);
+        }
+        if (readOnly) {
+            formItem.setReadOnlyView(true, readOnlyFormatter);
+        }
+        estimateLabelWidth(formItem);
+        indexLabel(formItem);
+    }
+
+    private List<EnhancedFormItem> addPendingItems(int count) {
+        List<FormItemSpec> chunk = new ArrayList<>(
+                Math.min(count, pendingItems.size()));
+        while (chunk.size() < count && !pendingItems.isEmpty()) {
+            chunk.add(pendingItems.poll());
+        }
+        if (chunk.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Components added while specs are pending stay after them
+        int index = pendingBoundary != null
+                && pendingBoundary.getParent().orElse(null) == this
+                        ? getElement()
+                                .indexOfChild(pendingBoundary.getElement()) + 1
+                        : getElement().getChildCount();
+        List<EnhancedFormItem> formItems = createFormItems(chunk, index);
+        pendingBoundary = pendingItems.isEmpty() ? null
+                : formItems.get(formItems.size() - 1);
+        if (virtualized) {
+            updateRangeObserver();
+        }
+        return formItems;
+    }
+
+    private void updateRangeObserver() {
+        // The boundary is observed only while there are pending items
+        if (pendingItems.isEmpty()) {
+            getElement().executeJs(
+                    "if (this._efObserver) { this._efObserver.disconnect(); }");
+        } else if (pendingBoundary != null
+                && pendingBoundary.getParent().orElse(null) == this) {
+            getElement().executeJs(
+                    "if (this._efObserveLast) { this._efObserveLast($0); }",
+                    pendingBoundary.getElement());
+        } else {
+            getElement().executeJs(
+                    "if (this._efObserveLast) { this._efObserveLast(); }");
+        }
+    }
+
+    @Override
+    public void remove(Component... components) {
+        List<EnhancedFormItem> removed = new ArrayList<>();
+        if (tracksRemovedItems()) {
+            for (Component component : components) {
+                if (component instanceof EnhancedFormItem
+                        && component.getParent().orElse(null) == this) {
+                    removed.add((EnhancedFormItem) component);
+                }
+            }
+        }
+        super.remove(components);
+        itemsRemoved(removed);
+        if (virtualized) {
+            // The observed last child may have been removed
+            updateRangeObserver();
+        }
+    }
+
+    @Override
+    public void remove(Collection<Component> components) {
+        remove(components.toArray(new Component[components.size()]));
+    }
+
+    @Override
+    public void removeAll() {
+        List<EnhancedFormItem> removed = Collections.emptyList();
+        if (tracksRemovedItems()) {
+            removed = getFormItems().collect(Collectors.toList());
+        }
+        super.removeAll();
+        pendingItems.clear();
+        pendingBoundary = null;
+        itemsRemoved(removed);
+        if (virtualized) {
+            updateRangeObserver();
+        }
+    }
+
+    private boolean tracksRemovedItems() {
+        return metrics != null || formItemPool != null || dirtyTracker != null
+                || labelWidthEstimator != null || labelIndex != null;
+    }
+
+    private void claimFormItem(EnhancedFormItem formItem) {
+        // Added back while still pooled, the pool must not hand it out
+        FormItemPool pool = FormItemPool.getPool(formItem);
+        if (pool != null) {
+            pool.remove(formItem);
+        }
+        EnhancedFormLayout owner = ComponentUtil.getData(formItem,
+                EnhancedFormLayout.class);
+        if (owner == this) {
+            return;
+        }
+        if (owner != null) {
+            // Moved from another layout while it was not attached
+            owner.itemsRemoved(Collections.singletonList(formItem));
+        }
+        ComponentUtil.setData(formItem, EnhancedFormLayout.class, this);
+    }
+
+    private void formItemDetached(EnhancedFormItem formItem) {
+        if (!tracksRemovedItems()) {
+            return;
+        }
+        // A form item moved within this layout is detached and attached
+        // again, so whether it was removed is checked only later
+        detachedItems.add(formItem);
+        if (detachedItemsPending) {
+            return;
+        }
+        UI ui = getUI().orElseGet(UI::getCurrent);
+        if (ui != null) {
+            detachedItemsPending = true;
+            ui.beforeClientResponse(this, context -> {
+                detachedItemsPending = false;
+                releaseDetachedItems();
+            });
+        }
+    }
+
+    private void releaseDetachedItems() {
+        if (detachedItems.isEmpty()) {
+            return;
+        }
+        List<EnhancedFormItem> detached = new ArrayList<>(detachedItems);
+        detachedItems.clear();
+        itemsRemoved(detached);
+    }
+
+    private void itemsRemoved(List<EnhancedFormItem> candidates) {
+        // Each form item is released once, by whichever of remove, detach
+        // or adding it to another layout notices it first
+        List<EnhancedFormItem> removed = new ArrayList<>(candidates.size());
+        for (EnhancedFormItem formItem : candidates) {
+            if (ComponentUtil.getData(formItem,
+                    EnhancedFormLayout.class) == this
+                    && formItem.getParent().orElse(null) != this) {
+                ComponentUtil.setData(formItem, EnhancedFormLayout.class,
+                        null);
+                removed.add(formItem);
+            }
+        }
+        if (metrics != null && !removed.isEmpty()) {
+            metrics.itemsRemoved(this, removed.size());
+        }
+        if (dirtyTracker != null) {
+            removed.forEach(this::untrackItem);
+        }
+        if (labelWidthEstimator != null && !removed.isEmpty()) {
+            removed.forEach(labelWidthEstimator::remove);
+            applyAutoLabelWidth();
+        }
+        if (labelIndex != null) {
+            removed.forEach(this::unindexLabel);
+        }
+        if (formItemPool != null) {
+            for (EnhancedFormItem formItem : removed) {
+                Class<?> fieldType = (Class<?>) ComponentUtil
+                        .getData(formItem, POOLED_FIELD_TYPE_KEY);
+                // A form item moved elsewhere is still in use
+                if (fieldType != null && !formItem.getParent().isPresent()) {
+                    formItem.setReadOnlyView(false, readOnlyFormatter);
+                    formItemPool.release(formItem, fieldType);
+                }
+            }
+        }
+        schedulePacking();
+    }
+
+    /**
+     * Takes the current values of the fields of this layout as the baseline
+     * and starts tracking which fields differ from it. After this the layout
+     * keeps one bit per form item, updated on each value change of its field,
+     * so checking whether the layout is dirty does not need to compare the
+     * fields. Form items added later, and lazy fields created later, use
+     * their initial value as the baseline.
+     * <p>
+     * Call this again e.g. after saving the values.
+     *
+     * @see #isDirty()
+     * @see #getDirtyItems()
+     * @see #addDirtyStateChangeListener(ComponentEventListener)
+     */
+    public void markClean() {
+        releaseDetachedItems();
+        boolean listenersNeeded = dirtyTracker == null
+                && (clientSideRequiredIndicator || indicatorBinder != null);
+        if (dirtyTracker == null) {
+            dirtyTracker = new DirtyTracker();
+        } else {
+            dirtyTracker.reset();
+        }
+        getFormItems().forEach(this::updateDirty);
+        if (listenersNeeded) {
+            refreshFieldListeners();
+        }
+        scheduleDirtyStateChange();
+    }
+
+    /**
+     * Checks whether the value of some field of this layout differs from the
+     * baseline. Always false before {@link #markClean()} is called.
+     *
+     * @return A boolean value
+     */
+    public boolean isDirty() {
+        releaseDetachedItems();
+        return dirtyTracker != null && dirtyTracker.isDirty();
+    }
+
+    /**
+     * Gets the form items whose field value differs from the baseline.
+     *
+     * @see #markClean()
+     *
+     * @return Unmodifiable list of the dirty form items in the order they
+     *         were tracked
+     */
+    public List<EnhancedFormItem> getDirtyItems() {
+        releaseDetachedItems();
+        return dirtyTracker != null ? dirtyTracker.getDirtyItems()
+                : Collections.emptyList();
+    }
+
+    /**
+     * Adds a listener notified when the layout becomes dirty or clean again.
+     * The event is fired at most once per round trip, even if several fields
+     * are changed.
+     *
+     * @see #markClean()
+     *
+     * @param listener
+     *            The listener
+     * @return Registration for removing the listener
+     */
+    public Registration addDirtyStateChangeListener(
+            ComponentEventListener<DirtyStateChangeEvent> listener) {
+        return addListener(DirtyStateChangeEvent.class, listener);
+    }
+
+    private void untrackItem(EnhancedFormItem formItem) {
+        if (dirtyTracker.untrack(formItem)) {
+            scheduleDirtyStateChange();
+        }
+    }
+
+    private void updateDirty(EnhancedFormItem formItem) {
+        // A lazy field is tracked from its creation on
+        if (dirtyTracker != null && formItem.field != null
+                && dirtyTracker.update(formItem, formItem.getFieldValue())) {
+            scheduleDirtyStateChange();
+        }
+    }
+
+    private void scheduleDirtyStateChange() {
+        if (dirtyEventPending) {
+            return;
+        }
+        UI ui = getUI().orElseGet(UI::getCurrent);
+        if (ui == null) {
+            fireDirtyStateChange();
+        } else {
+            dirtyEventPending = true;
+            ui.beforeClientResponse(this, context -> fireDirtyStateChange());
+        }
+    }
+
+    private void fireDirtyStateChange() {
+        dirtyEventPending = false;
+        if (isDirty() != dirtyEventState) {
+            dirtyEventState = isDirty();
+            fireEvent(new DirtyStateChangeEvent(this, false, dirtyEventState));
+        }
+    }
+
+    /**
+     * Set the pool the form items added with
+     * {@link #addPooledFormItem(Class, SerializableSupplier, String)} are
+     * taken from and returned to when removed from this layout. The pool can
+     * be shared by the layouts of one UI. Without a pool the pooled form
+     * items are created and discarded like any other form items.
+     *
+     * @see FormItemPool#forUI(UI)
+     *
+     * @param pool
+     *            The pool, null to not use a pool
+     */
+    public void setFormItemPool(FormItemPool pool) {
+        formItemPool = pool;
+    }
+
+    /**
+     * Gets the pool of the form items of this layout.
+     *
+     * @return The pool, null if not set
+     */
+    public FormItemPool getFormItemPool() {
+        return formItemPool;
+    }
+
+    /**
+     * Adds a form item whose field component is of the given type. A form
+     * item released to the pool of this layout with the same field type is
+     * reused if available. The value, required state, label, alignment,
+     * styles and colspan of a reused form item and its field are reset, and
+     * the defaults of this layout are applied like for new form items.
+     * <p>
+     * Note: Value change listeners and bindings added to the field are not
+     * removed. Remove them, e.g. by unbinding the field, before the form item
+     * is removed from the layout.
+     *
+     * @see #setFormItemPool(FormItemPool)
+     *
+     * @param fieldType
+     *            The type of the field component
+     * @param fieldFactory
+     *            Supplier creating a field component when none is pooled
+     * @param label
+     *            Label text as String
+     * @return The field component of the form item
+     */
+    public <T extends Component> T addPooledFormItem(Class<T> fieldType,
+            SerializableSupplier<T> fieldFactory, String label) {
+        Objects.requireNonNull(fieldType, "Field type can't be null");
+        Objects.requireNonNull(fieldFactory, "Field factory can't be null");
+        long start = metrics != null ? System.nanoTime() : 0;
+        EnhancedFormItem formItem = formItemPool != null
+                ? formItemPool.acquire(fieldType)
+                : null;
+        if (formItem == null) {
+            formItem = new EnhancedFormItem(fieldFactory.get(),
+                    new Label(label));
+            ComponentUtil.setData(formItem, POOLED_FIELD_TYPE_KEY, fieldType);
+        } else {
+            formItem.recycle(label);
+        }
+        initFormItem(formItem, labelsRightAligned);
+        add(formItem);
+        if (metrics != null) {
+            metrics.itemsAdded(this, 1, System.nanoTime() - start);
+        }
+        return fieldType.cast(formItem.field);
+    }
+
+    @Override
+    public void add(Component... components) {
+        super.add(components);
+        componentsAdded(Arrays.asList(components));
+    }
+
+    @Override
+    public void add(Collection<Component> components) {
+        super.add(components);
+        componentsAdded(components);
+    }
+
+    @Override
+    public void addComponentAtIndex(int index, Component component) {
+        super.addComponentAtIndex(index, component);
+        componentsAdded(Collections.singletonList(component));
+    }
+
+    private void componentsAdded(Collection<? extends Component> components) {
+        for (Component component : components) {
+            if (component instanceof EnhancedFormItem) {
+                claimFormItem((EnhancedFormItem) component);
+            }
+        }
+        schedulePacking();
+    }
+
+    /**
+     * Set the layout to pack colspans automatically. When packing is on, the
+     * colspans of the components having a colspan range are computed for the
+     * current number of columns so that the form needs as few rows as
+     * possible, and among those leaves as few empty cells as possible. The
+     * order of the components is kept. Components without a range keep
+     * their colspan.
+     * <p>
+     * The colspans are computed again once per round trip when components
+     * are added, removed, hidden, shown or filtered, and when the browser
+     * selects another responsive step. The results are cached per column
+     * count.
+     *
+     * @see #setColspanRange(Component, int, int)
+     * @see #addColumnCountChangeListener(ComponentEventListener)
+     *
+     * @param packing
+     *            A boolean value
+     */
+    public void setColspanPacking(boolean packing) {
+        if (packing == isColspanPacking()) {
+            return;
+        }
+        if (packing) {
+            colspanPacker = new ColspanPacker();
+            packingColumnsReg = addColumnCountChangeListener(
+                    event -> schedulePacking());
+            schedulePacking();
+        } else {
+            packingColumnsReg.remove();
+            packingColumnsReg = null;
+            colspanPacker = null;
+        }
+    }
+
+    /**
+     * Checks whether colspans are packed automatically.
+     *
+     * @see #setColspanPacking(boolean)
+     *
+     * @return A boolean value
+     */
+    public boolean isColspanPacking() {
+        return colspanPacker != null;
+    }
+
+    /**
+     * Set the range of colspans the given component may get when colspans
+     * are packed automatically.
+     *
+     * @see #setColspanPacking(boolean)
+     *
+     * @param component
+     *            The component in this layout
+     * @param minColspan
+     *            Minimum colspan, must be positive
+     * @param maxColspan
+     *            Maximum colspan, must not be less than the minimum
+     */
+    public void setColspanRange(Component component, int minColspan,
+            int maxColspan) {
+        Objects.requireNonNull(component, "Component can't be null");
+        if (minColspan < 1 || maxColspan < minColspan) {
+            throw new IllegalArgumentException(
+                    "Colspan range must be positive and not empty");
+        }
+        ComponentUtil.setData(component, COLSPAN_RANGE_KEY,
+                new int[] { minColspan, maxColspan });
+        schedulePacking();
+    }
+
+    private void schedulePacking() {
+        if (colspanPacker == null || packingPending) {
+            return;
+        }
+        UI ui = getUI().orElseGet(UI::getCurrent);
+        if (ui == null) {
+            packColspans();
+        } else {
+            packingPending = true;
+            ui.beforeClientResponse(this, context -> packColspans());
+        }
+    }
+
+    private void packColspans() {
+        packingPending = false;
+        if (colspanPacker == null || currentColumns == 0) {
+            return;
+        }
+        // Hidden and filtered out components do not take any space
+        List<Component> children = getChildren().filter(Component::isVisible)
+                .filter(child -> !isFilteredOut(child))
+                .collect(Collectors.toList());
+        int[] minColspans = new int[children.size()];
+        int[] maxColspans = new int[children.size()];
+        boolean[] packed = new boolean[children.size()];
+        for (int i = 0; i < children.size(); i++) {
+            int[] range = (int[]) ComponentUtil.getData(children.get(i),
+                    COLSPAN_RANGE_KEY);
+            packed[i] = range != null;
+            if (packed[i]) {
+                minColspans[i] = range[0];
+                maxColspans[i] = range[1];
+            } else {
+                minColspans[i] = Math.max(1, getColspan(children.get(i)));
+                maxColspans[i] = minColspans[i];
+            }
+        }
+        int[] colspans = colspanPacker.pack(minColspans, maxColspans,
+                currentColumns);
+        for (int i = 0; i < colspans.length; i++) {
+            if (packed[i]) {
+                setColspan(children.get(i), colspans[i]);
+            }
+        }
+    }
+
+    /**
+     * Set the listener which is notified about the items, listeners, style
+     * mutations and label and orientation changes of this layout. When no
+     * listener is set, the instrumentation has no cost.
+     *
+     * @see InMemoryFormLayoutMetrics
+     *
+     * @param metrics
+     *            The metrics listener, null to remove
+     */
+    public void setMetrics(FormLayoutMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the metrics listener of this layout.
+     *
+     * @return The metrics listener, null if not set
+     */
+    public FormLayoutMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void reportStyleMutation(StyleMutation mutation) {
+        if (metrics != null) {
+            metrics.styleMutated(this, mutation);
+        }
+    }
+
+    /**
+     * Set the layout to virtualized mode. In virtualized mode the form items
+     * added with {@link #addFormItems(Collection)} are kept as lightweight
+     * specs and only the first chunk of them is created. The next chunk is
+     * created when the last form item of the layout comes close to the
+     * viewport, so very large forms do not need to be rendered at once.
+     * <p>
+     * Note: Form items added with
+     * {@link #addFormItem(Component, Component)} are always created
+     * immediately. Components added while form items are pending stay after
+     * the pending items, which are inserted before them. Turning virtualized
+     * mode off creates all pending items, and {@link #removeAll()} discards
+     * them.
+     *
+     * @param virtualized
+     *            A boolean value
+     */
+    public void setVirtualized(boolean virtualized) {
+        if (this.virtualized == virtualized) {
+            return;
+        }
+        this.virtualized = virtualized;
+        if (virtualized) {
+            rangeListenerReg = getElement()
+                    .addEventListener(RANGE_EVENT,
+                            event -> addPendingItems(virtualizedChunkSize))
+                    .throttle(RANGE_EVENT_THROTTLE);
+            if (isAttached()) {
+                installRangeObserver();
+            }
+        } else {
+            rangeListenerReg.remove();
+            rangeListenerReg = null;
+            getElement().executeJs(
+                    "if (this._efObserver) { this._efObserver.disconnect(); }"
+                            + "delete this._efObserver; delete this._efObserveLast;");
+            addPendingItems(pendingItems.size());
+        }
+    }
+
+    /**
+     * Checks whether the layout is in virtualized mode.
+     *
+     * @see #setVirtualized(boolean)
+     *
+     * @return A boolean value
+     */
+    public boolean isVirtualized() {
+        return virtualized;
+    }
+
+    /**
+     * Set the number of form items created at once in virtualized mode. The
+     * default is 50.
+     *
+     * @see #setVirtualized(boolean)
+     *
+     * @param chunkSize
+     *            Number of items, must be positive
+     */
+    public void setVirtualizedChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "Chunk size must be positive");
+        }
+        virtualizedChunkSize = chunkSize;
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        if (virtualized) {
+            installRangeObserver();
+        }
+        if (columnsListenerReg != null) {
+            installColumnsObserver();
+        }
+        if (clientSideRequiredIndicator) {
+            installIndicatorObserver();
+        }
+    }
+
+    private void installRangeObserver() {
+        // The last form item created from the pending specs, or the last
+        // child, is observed and a range event is sent to server when it is
+        // close to the viewport. The observer is re-targeted every time a new
+        // chunk has been added.
+        getElement().executeJs("const layout = this;"
+                + "if (layout._efObserver) { layout._efObserver.disconnect(); }"
+                + "layout._efObserver = new IntersectionObserver(function(entries) {"
+                + "  if (entries.some(function(entry) { return entry.isIntersecting; })) {"
+                + "    layout.dispatchEvent(new CustomEvent($0));"
+                + "  }"
+                + "}, { rootMargin: $1 });"
+                + "layout._efObserveLast = function(target) {"
+                + "  layout._efObserver.disconnect();"
+                + "  target = target || layout.lastElementChild;"
+                + "  if (target) {"
+                + "    layout._efObserver.observe(target);"
+                + "  }"
+                + "};", RANGE_EVENT, VIRTUALIZED_ROOT_MARGIN);
+        updateRangeObserver();
+    }
+
+    /**
+     * Adds a listener for changes of the number of columns of this layout.
+     * The columns are followed only while there are listeners. The browser
+     * observes the size of the layout, but an event is sent to server only
+     * when another responsive step becomes active, and the events are
+     * debounced.
+     *
+     * @see #getCurrentColumns()
+     *
+     * @param listener
+     *            The listener
+     * @return Registration for removing the listener
+     */
+    public Registration addColumnCountChangeListener(
+            ComponentEventListener<ColumnCountChangeEvent> listener) {
+        Registration registration = addListener(ColumnCountChangeEvent.class,
+                listener);
+        if (columnsListenerReg == null) {
+            columnsListenerReg = getElement()
+                    .addEventListener(COLUMNS_EVENT, event -> columnsChanged(
+                            (int) event.getEventData()
+                                    .getNumber(COLUMNS_EVENT_DATA)))
+                    .addEventData(COLUMNS_EVENT_DATA)
+                    .debounce(COLUMNS_EVENT_DEBOUNCE);
+            if (isAttached()) {
+                installColumnsObserver();
+            }
+        }
+        return () -> {
+            registration.remove();
+            if (columnsListenerReg != null
+                    && !hasListener(ColumnCountChangeEvent.class)) {
+                columnsListenerReg.remove();
+                columnsListenerReg = null;
+                currentColumns = 0;
+                getElement().executeJs(
+                        "if (this._efResizeObserver) { this._efResizeObserver.disconnect(); }"
+                                + "delete this._efResizeObserver; delete this._efCheckColumns;");
+            }
+        };
+    }
+
+    /**
+     * Gets the number of columns last reported by the browser. The columns
+     * are known only while there is a column count change listener and the
+     * layout has been rendered.
+     *
+     * @see #addColumnCountChangeListener(ComponentEventListener)
+     *
+     * @return Number of columns, 0 if not known
+     */
+    public int getCurrentColumns() {
+        return currentColumns;
+    }
+
+    private void columnsChanged(int columns) {
+        if (columns == currentColumns) {
+            return;
+        }
+        int previousColumns = currentColumns;
+        currentColumns = columns;
+        fireEvent(new ColumnCountChangeEvent(this, true, columns,
+                previousColumns));
+    }
+
+    private void installColumnsObserver() {
+        // vaadin-form-layout selects the responsive step on resize, so the
+        // column count is read on the next frame and sent only when changed
+        getElement().executeJs("const layout = this;"
+                + "if (layout._efResizeObserver) { layout._efResizeObserver.disconnect(); }"
+                + "delete layout._efColumns;"
+                + "layout._efCheckColumns = function() {"
+                + "  requestAnimationFrame(function() {"
+                + "    const columns = layout._columnCount;"
+                + "    if (columns && columns !== layout._efColumns) {"
+                + "      layout._efColumns = columns;"
+                + "      layout.dispatchEvent(new CustomEvent($0, { detail: { columns: columns } }));"
+                + "    }"
+                + "  });"
+                + "};"
+                + "layout._efResizeObserver = new ResizeObserver(layout._efCheckColumns);"
+                + "layout._efResizeObserver.observe(layout);", COLUMNS_EVENT);
+    }
+
+    @Override
+    public void setResponsiveSteps(List<ResponsiveStep> steps) {
+        super.setResponsiveSteps(steps);
+        if (columnsListenerReg != null) {
+            // Changed steps may change the columns without a resize
+            getElement().executeJs(
+                    "if (this._efCheckColumns) { this._efCheckColumns(); }");
+        }
+    }
+
     /**
      * Get the list of {@link ResponsiveStep}s used to configure this layout.
+     * <p>
+     * The parsed list is cached until the responsive steps are changed, so
+     * calling this repeatedly is cheap.
      *
      * @see ResponsiveStep
      *
-     * @return the list of {@link ResponsiveStep}s used to configure this layout
+     * @return the unmodifiable list of {@link ResponsiveStep}s used to
+     *         configure this layout
      */
     @Override
     public List<ResponsiveStep> getResponsiveSteps() {
@@ -60,15 +1260,22 @@ public class EnhancedFormLayout extends FormLayout {
         if (stepsJsonArray == null) {
             return Collections.emptyList();
         }
-        List<ResponsiveStep> steps = new ArrayList<>();
-        for (int i = 0; i < stepsJsonArray.length(); i++) {
-            JsonObject stepJson = stepsJsonArray.get(i);
-            if (stepJson != null) {
-                ResponsiveStep step = responsiveStepFromJson(stepJson);
-                steps.add(step);
+        // Setting the steps always replaces the property value, so comparing
+        // the identity of the raw value is enough to detect changes
+        if (stepsJsonArray != cachedStepsJson) {
+            List<ResponsiveStep> steps = new ArrayList<>(
+                    stepsJsonArray.length());
+            for (int i = 0; i < stepsJsonArray.length(); i++) {
+                JsonObject stepJson = stepsJsonArray.get(i);
+                if (stepJson != null) {
+                    ResponsiveStep step = responsiveStepFromJson(stepJson);
+                    steps.add(step);
+                }
             }
+            cachedSteps = Collections.unmodifiableList(steps);
+            cachedStepsJson = stepsJsonArray;
         }
-        return steps;
+        return cachedSteps;
     }
 
     private ResponsiveStep responsiveStepFromJson(JsonObject stepJson) {
@@ -83,29 +1290,181 @@ public class EnhancedFormLayout extends FormLayout {
         } else if ("top".equals(labelsPositionString)) {
             labelsPosition = LabelsPosition.TOP;
         }
-        return new ResponsiveStep(minWidth, columns, labelsPosition);
+        return new ResponsiveStep(minWidth, columns, labelsPosition);
+    }
+
+    /**
+     * This is a convenience API to set the label width of the form items in
+     * this layout. The value is set once on the layout and inherited by both
+     * existing and subsequently created form items, unless overridden with
+     * {@link EnhancedFormItem#setLabelWidth(String)}.
+     * 
+     * @param width
+     *            A CSS accepted width as string, null to use the theme default
+     */
+    public void setFormItemLabelWidth(String width) {
+        setAutoLabelWidth(null);
+        setOrRemoveStyle(DEFAULT_LABEL_WIDTH, width);
+        reportStyleMutation(StyleMutation.LABEL_WIDTH);
+    }
+
+    /**
+     * Set the label width of the form items in this layout to be estimated on
+     * the server. The width of each text label is estimated with the given
+     * font metrics, and the widest one is set as the label width of the
+     * layout, like with {@link #setFormItemLabelWidth(String)}. The estimate
+     * is updated only when labels are added, changed or removed, and the
+     * label width is set only when the widest label changes, so the browser
+     * does not need to measure the labels.
+     * <p>
+     * Note: vaadin-form-layout has one label width for all the columns, so
+     * the widest label of the whole layout is used. Form items with a label
+     * width of their own keep it. Calling
+     * {@link #setFormItemLabelWidth(String)} turns the estimation off.
+     *
+     * @param fontMetrics
+     *            Metrics of the label font of the theme, null to turn the
+     *            estimation off
+     */
+    public void setAutoLabelWidth(LabelFontMetrics fontMetrics) {
+        if (fontMetrics == null && labelWidthEstimator == null) {
+            return;
+        }
+        labelWidthEstimator = fontMetrics != null
+                ? new LabelWidthEstimator(fontMetrics)
+                : null;
+        getFormItems().forEach(this::estimateLabelWidth);
+        applyAutoLabelWidth();
+    }
+
+    private void estimateLabelWidth(EnhancedFormItem formItem) {
+        if (labelWidthEstimator != null && labelWidthEstimator.estimate(
+                formItem,
+                formItem.getTextLabel().map(HasText::getText).orElse(null))) {
+            applyAutoLabelWidth();
+        }
+    }
+
+    private void applyAutoLabelWidth() {
+        String width = labelWidthEstimator != null
+                ? labelWidthEstimator.getLabelWidth()
+                : null;
+        if (!Objects.equals(width, autoLabelWidth)) {
+            autoLabelWidth = width;
+            setOrRemoveStyle(DEFAULT_LABEL_WIDTH, width);
+            reportStyleMutation(StyleMutation.LABEL_WIDTH);
+        }
+    }
+
+    /**
+     * Shows only the form items whose label matches the given filter. The
+     * filter is split to words, and a label matches if each of the words is
+     * the beginning of some word of the label, ignoring case. Form items
+     * without a text label do not match a non-empty filter.
+     * <p>
+     * The labels are indexed by their words on the first call, and the index
+     * is kept up to date as labels are added, changed and removed, so
+     * filtering does not need to read the labels. The filtered form items are
+     * hidden with an attribute matched by the CSS of the add-on. Only the
+     * form items whose state changes are updated, and the layout is
+     * refreshed once per round trip. The visibility set with
+     * {@link Component#setVisible(boolean)} is not changed.
+     *
+     * @param filter
+     *            The filter, null or empty to show all the form items
+     */
+    public void setFilter(String filter) {
+        this.filter = filter == null ? "" : filter;
+        if (labelIndex == null) {
+            labelIndex = new LabelIndex();
+            getFormItems().forEach(this::indexLabel);
+        }
+        releaseDetachedItems();
+        // Form items moved out while detached are not seen by onDetach
+        labelIndex.retain(formItem -> formItem.getParent().orElse(null) == this);
+        List<EnhancedFormItem> changed = labelIndex.setFilter(this.filter);
+        changed.forEach(this::updateFilteredAttribute);
+        if (!changed.isEmpty()) {
+            scheduleFilterRelayout();
+            schedulePacking();
+        }
     }
 
     /**
-     * This is a convenience API to set the width value subsequently used by
-     * form items created after setting.
-     * 
-     * @param width
-     *            A CSS accepted width as string
+     * Gets the filter of the form items.
+     *
+     * @see #setFilter(String)
+     *
+     * @return The filter, empty if not set
      */
-    public void setFormItemLabelWidth(String width) {
-        formItemLabelWidth = width;
+    public String getFilter() {
+        return filter;
+    }
+
+    private void indexLabel(EnhancedFormItem formItem) {
+        if (labelIndex == null) {
+            return;
+        }
+        if (labelIndex.index(formItem, formItem.getTextLabel()
+                .map(HasText::getText).orElse(null))) {
+            updateFilteredAttribute(formItem);
+            scheduleFilterRelayout();
+            schedulePacking();
+        }
+    }
+
+    private void unindexLabel(EnhancedFormItem formItem) {
+        if (labelIndex.remove(formItem)) {
+            updateFilteredAttribute(formItem);
+        }
+    }
+
+    private boolean isFilteredOut(Component component) {
+        return labelIndex != null && component instanceof EnhancedFormItem
+                && labelIndex.isFilteredOut((EnhancedFormItem) component);
+    }
+
+    private void updateFilteredAttribute(EnhancedFormItem formItem) {
+        formItem.getElement().setAttribute(FILTERED_ATTRIBUTE,
+                labelIndex.isFilteredOut(formItem));
+    }
+
+    private void scheduleFilterRelayout() {
+        if (filterRelayoutPending) {
+            return;
+        }
+        UI ui = getUI().orElseGet(UI::getCurrent);
+        if (ui != null) {
+            filterRelayoutPending = true;
+            ui.beforeClientResponse(this, context -> {
+                filterRelayoutPending = false;
+                // vaadin-form-layout does not observe the attribute
+                getElement().executeJs(
+                        "if (this._updateLayout) { this._updateLayout(); }");
+            });
+        }
     }
 
     /**
-     * This is a convenience API to set the row spacing value subsequently used
-     * by form items created after setting.
+     * This is a convenience API to set the row spacing of the form items in
+     * this layout. The value is set once on the layout and inherited by both
+     * existing and subsequently created form items, unless overridden with
+     * {@link EnhancedFormItem#setRowSpacing(String)}.
      * 
      * @param spacing
-     *            A CSS accepted value as string
+     *            A CSS accepted value as string, null to use the theme default
      */
     public void setFormItemRowSpacing(String spacing) {
-        formItemRowSpacing = spacing;
+        setOrRemoveStyle(DEFAULT_ROW_SPACING, spacing);
+        reportStyleMutation(StyleMutation.ROW_SPACING);
+    }
+
+    private void setOrRemoveStyle(String name, String value) {
+        if (value == null) {
+            getStyle().remove(name);
+        } else {
+            getStyle().set(name, value);
+        }
     }
 
     /**
@@ -139,6 +1498,284 @@ public class EnhancedFormLayout extends FormLayout {
      */
     public void setStickyIndicator(boolean stickyIndicator) {
         this.stickyIndicator = stickyIndicator;
+        if (clientSideRequiredIndicator) {
+            getFormItems().forEach(formItem -> formItem
+                    .updateRequiredIndicator(true, stickyIndicator));
+        }
+    }
+
+    /**
+     * Set the required indicator to be toggled in the browser instead of the
+     * server. In this mode the form items do not listen to their fields,
+     * unless dirty tracking is on, instead the theme shows the indicator based
+     * on the required and has-value attributes of the field, so value changes
+     * cause no work on the server. The sticky indicator setting is
+     * obeyed, but without it the indicator is shown again if the value is
+     * cleared.
+     * <p>
+     * Note: The theme uses the CSS :has() selector. In browsers without it a
+     * small script of the layout observes the fields and marks the form items
+     * showing the indicator instead, still without server round trips.
+     * 
+     * @param clientSide
+     *            A boolean value
+     */
+    public void setClientSideRequiredIndicator(boolean clientSide) {
+        if (clientSide == clientSideRequiredIndicator) {
+            return;
+        }
+        clientSideRequiredIndicator = clientSide;
+        getFormItems().forEach(formItem -> formItem
+                .updateRequiredIndicator(clientSide, stickyIndicator));
+        refreshFieldListeners();
+        if (!clientSide) {
+            getElement().executeJs("const layout = this;"
+                    + "if (layout._efIndicatorObserver) {"
+                    + "  layout._efIndicatorObserver.disconnect();"
+                    + "  delete layout._efIndicatorObserver;"
+                    + "}"
+                    + "const items = layout.querySelectorAll('[' + $0 + ']');"
+                    + "for (let i = 0; i < items.length; i++) {"
+                    + "  items[i].removeAttribute($0);"
+                    + "}", REQUIRED_DOT_ATTRIBUTE);
+        } else if (isAttached()) {
+            installIndicatorObserver();
+        }
+    }
+
+    private void installIndicatorObserver() {
+        // Without :has() support the form items showing the indicator get an
+        // attribute, updated in the browser when the fields change
+        getElement().executeJs("const layout = this;"
+                + "if (layout._efIndicatorObserver || (window.CSS && CSS.supports"
+                + "    && CSS.supports('selector(:has(*))'))) {"
+                + "  return;"
+                + "}"
+                + "const update = function(item) {"
+                + "  if (!item || item.localName !== 'vaadin-form-item') {"
+                + "    return;"
+                + "  }"
+                + "  const themes = ' ' + (item.getAttribute('theme') || '') + ' ';"
+                + "  const sticky = themes.indexOf(' sticky-indicator ') >= 0;"
+                + "  let shown = false;"
+                + "  if (themes.indexOf(' client-indicator ') >= 0) {"
+                + "    for (let i = 0; i < item.children.length; i++) {"
+                + "      const child = item.children[i];"
+                + "      if (child.hasAttribute('required')"
+                + "          && (sticky || !child.hasAttribute('has-value'))) {"
+                + "        shown = true;"
+                + "      }"
+                + "    }"
+                + "  }"
+                + "  if (shown) {"
+                + "    item.setAttribute($0, '');"
+                + "  } else {"
+                + "    item.removeAttribute($0);"
+                + "  }"
+                + "};"
+                + "layout._efIndicatorObserver = new MutationObserver(function(mutations) {"
+                + "  mutations.forEach(function(mutation) {"
+                + "    if (mutation.target === layout) {"
+                + "      for (let i = 0; i < mutation.addedNodes.length; i++) {"
+                + "        update(mutation.addedNodes[i]);"
+                + "      }"
+                + "    } else if (mutation.target.localName === 'vaadin-form-item') {"
+                + "      update(mutation.target);"
+                + "    } else {"
+                + "      update(mutation.target.parentElement);"
+                + "    }"
+                + "  });"
+                + "});"
+                + "layout._efIndicatorObserver.observe(layout, { childList: true,"
+                + "  subtree: true, attributes: true,"
+                + "  attributeFilter: ['required', 'has-value', 'theme'] });"
+                + "for (let i = 0; i < layout.children.length; i++) {"
+                + "  update(layout.children[i]);"
+                + "}", REQUIRED_DOT_ATTRIBUTE);
+    }
+
+    private boolean needsFieldListeners(Component field) {
+        if (indicatorBinder != null) {
+            // The binder reports the value changes of its own fields only
+            return dirtyTracker != null && indicatorBinder.getFields()
+                    .noneMatch(bound -> bound == field);
+        }
+        // In client-side mode the value changes are needed only for dirty
+        // tracking
+        return !clientSideRequiredIndicator || dirtyTracker != null;
+    }
+
+    private void refreshFieldListeners() {
+        getFormItems().filter(Component::isAttached).forEach(formItem -> {
+            formItem.unlistenField();
+            formItem.registerField();
+        });
+    }
+
+    /**
+     * Set the layout to read-only mode. In read-only mode the field of each
+     * form item is replaced with a plain text node showing the value of the
+     * field, formatted with the read-only formatter, or the read-only text of
+     * the form item if set. The fields are detached and have no listeners and
+     * the required indicators are hidden, so a view-only form needs
+     * considerably fewer DOM and state tree nodes. Switching back to edit
+     * mode attaches the fields again, and lazy fields are created only then
+     * if the form item has a read-only text. Otherwise a lazy field is created
+     * for its value when the form item is first shown, so the fields of
+     * collapsed sections are not created.
+     * <p>
+     * The texts are taken when switching to read-only mode. Calling this
+     * again with true refreshes them, e.g. after the values are changed.
+     *
+     * @see #setReadOnlyFormatter(SerializableFunction)
+     * @see EnhancedFormItem#setReadOnlyText(SerializableSupplier)
+     *
+     * @param readOnly
+     *            A boolean value
+     */
+    public void setReadOnly(boolean readOnly) {
+        if (!readOnly && !this.readOnly) {
+            return;
+        }
+        this.readOnly = readOnly;
+        getFormItems().forEach(formItem -> formItem.setReadOnlyView(readOnly,
+                readOnlyFormatter));
+    }
+
+    /**
+     * Checks whether the layout is in read-only mode.
+     *
+     * @see #setReadOnly(boolean)
+     *
+     * @return A boolean value
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Set the function formatting the field values in read-only mode. By
+     * default the value is converted with {@link String#valueOf(Object)} and
+     * an empty value is shown as an empty text.
+     *
+     * @param formatter
+     *            Function formatting a field value, the value can be null
+     */
+    public void setReadOnlyFormatter(
+            SerializableFunction<Object, String> formatter) {
+        readOnlyFormatter = Objects.requireNonNull(formatter,
+                "Formatter can't be null");
+        if (readOnly) {
+            setReadOnly(true);
+        }
+    }
+
+    private static String formatValue(Object value) {
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    /**
+     * Updates the labels of all the form items of this layout in one pass.
+     * The label key of each form item is resolved with the given provider,
+     * and the label is updated only if its text changes. Form items added
+     * later are labelled with the same locale and provider.
+     * <p>
+     * Wrap the provider with {@link LabelProvider#cached(LabelProvider)} and
+     * share it between the UIs to resolve each text only once per locale.
+     *
+     * @see EnhancedFormItem#setLabelKey(String)
+     *
+     * @param locale
+     *            The locale
+     * @param labelProvider
+     *            The provider resolving the label texts
+     */
+    public void relabel(Locale locale, LabelProvider labelProvider) {
+        this.labelLocale = Objects.requireNonNull(locale,
+                "Locale can't be null");
+        this.labelProvider = Objects.requireNonNull(labelProvider,
+                "Label provider can't be null");
+        getFormItems()
+                .forEach(formItem -> formItem.relabel(locale, labelProvider));
+    }
+
+    /**
+     * Let the given binder drive the required indicators of all the form
+     * items in this layout. The form items stop listening to their fields,
+     * instead the value and status change events of the binder trigger a
+     * single update of all the indicators per round trip. The indicator of a
+     * form item is shown when its field is required and empty, or required
+     * and the sticky indicator is set.
+     * <p>
+     * With dirty tracking on, the fields not bound with the binder when the
+     * form item is attached keep listening to their own value changes.
+     *
+     * @see #markClean()
+     *
+     * @param binder
+     *            The binder the fields of this layout are bound with
+     * @return Registration for restoring the per-field listeners
+     */
+    public Registration bindRequiredIndicators(Binder<?> binder) {
+        Objects.requireNonNull(binder, "Binder can't be null");
+        if (indicatorBinderReg != null) {
+            indicatorBinderReg.remove();
+        }
+        Registration valueChangeReg = binder.addValueChangeListener(event -> {
+            scheduleIndicatorUpdate();
+            // The binder may be shared with other layouts
+            if (event.getHasValue() instanceof Component) {
+                RequiredIndicatorDispatcher
+                        .findFormItem((Component) event.getHasValue())
+                        .filter(formItem -> formItem.getParent()
+                                .orElse(null) == this)
+                        .ifPresent(this::updateDirty);
+            }
+        });
+        Registration statusChangeReg = binder
+                .addStatusChangeListener(event -> scheduleIndicatorUpdate());
+        Registration registration = new Registration() {
+            @Override
+            public void remove() {
+                valueChangeReg.remove();
+                statusChangeReg.remove();
+                if (indicatorBinderReg == this) {
+                    indicatorBinderReg = null;
+                    indicatorBinder = null;
+                    refreshFieldListeners();
+                }
+            }
+        };
+        indicatorBinderReg = registration;
+        indicatorBinder = binder;
+        refreshFieldListeners();
+        scheduleIndicatorUpdate();
+        return registration;
+    }
+
+    private void scheduleIndicatorUpdate() {
+        if (indicatorUpdatePending) {
+            return;
+        }
+        UI ui = getUI().orElseGet(UI::getCurrent);
+        if (ui == null) {
+            updateRequiredIndicators();
+        } else {
+            indicatorUpdatePending = true;
+            ui.beforeClientResponse(this,
+                    context -> updateRequiredIndicators());
+        }
+    }
+
+    private void updateRequiredIndicators() {
+        indicatorUpdatePending = false;
+        getFormItems().forEach(
+                formItem -> formItem.syncRequiredIndicator(stickyIndicator));
+    }
+
+    private Stream<EnhancedFormItem> getFormItems() {
+        return getChildren().filter(child -> child instanceof EnhancedFormItem)
+                .map(child -> (EnhancedFormItem) child);
     }
 
     /**
@@ -158,16 +1795,90 @@ public class EnhancedFormLayout extends FormLayout {
         } else {
             getElement().getThemeList().remove("vertical");
         }
+        if (metrics != null) {
+            metrics.orientationChanged(this, orientation);
+        }
+    }
+
+    /**
+     * Stateless listener instance shared by all the form items. It is
+     * registered to a field while the form item of the field is attached and
+     * resolves the form item from the parent of the field on dispatch, so no
+     * per-item listeners need to be kept. The registrations are kept by the
+     * form item, see {@link EnhancedFormItem#listenField()}.
+     */
+    private static final class RequiredIndicatorDispatcher
+            implements ValueChangeListener<ValueChangeEvent<?>>,
+            PropertyChangeListener {
+
+        private static final RequiredIndicatorDispatcher INSTANCE = new RequiredIndicatorDispatcher();
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static Registration listenValue(HasValue field) {
+            return field.addValueChangeListener(INSTANCE);
+        }
+
+        private static Registration listenRequired(Component field) {
+            return field.getElement().addPropertyChangeListener("required",
+                    INSTANCE);
+        }
+
+        @Override
+        public void valueChanged(ValueChangeEvent<?> event) {
+            if (!(event.getHasValue() instanceof Component)) {
+                return;
+            }
+            findFormItem((Component) event.getHasValue())
+                    .filter(Component::isAttached).ifPresent(formItem -> {
+                        if (event.getValue() != null) {
+                            formItem.fieldValueChanged();
+                        }
+                        formItem.getLayout().ifPresent(
+                                layout -> layout.updateDirty(formItem));
+                    });
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent event) {
+            event.getSource().getComponent()
+                    .flatMap(RequiredIndicatorDispatcher::findFormItem)
+                    .filter(Component::isAttached)
+                    .ifPresent(EnhancedFormItem::fieldRequiredChanged);
+        }
+
+        private static Optional<EnhancedFormItem> findFormItem(
+                Component field) {
+            return field.getParent()
+                    .filter(parent -> parent instanceof EnhancedFormItem)
+                    .map(parent -> (EnhancedFormItem) parent);
+        }
+
+        private Object readResolve() {
+            return INSTANCE;
+        }
     }
 
-    public class EnhancedFormItem extends FormItem {
+    public static class EnhancedFormItem extends FormItem {
 
-        Registration listenerReg;
-        HasText label = null;
+        private Component field;
+        private SerializableSupplier<? extends Component> fieldSupplier;
+        // Registrations of the dispatcher on the field, serialized with the
+        // field so that they can be removed after deserialization
+        private Registration valueChangeReg;
+        private Registration requiredReg;
+        // Field state when it stopped being listened, for noticing the
+        // changes made meanwhile, e.g. before the first attach
+        private boolean unlistenedKnown;
+        private boolean unlistenedRequired;
+        private Object unlistenedValue;
 
         /**
          * Constructs a new EnhancedFormItem which inherits required status
          * indicator from the component wrapped in it.
+         * <p>
+         * Note: The defaults of the layout are applied only to form items
+         * created with {@link EnhancedFormLayout#addFormItem(Component, Component)}
+         * or {@link EnhancedFormLayout#addFormItems(Collection)}.
          * 
          * @param comp
          *            The field component
@@ -175,40 +1886,410 @@ public class EnhancedFormLayout extends FormLayout {
          *            The label
          */
         public EnhancedFormItem(Component comp, Component label) {
-            if (label instanceof HasText) {
-                this.label = (HasText) label;
-            }
-            add(comp);
-            getElement().getStyle().set("--required-dot-opacity", "0");
+            initField(comp);
+            addToLabel(label);
+        }
+
+        /**
+         * Constructs a new EnhancedFormItem whose field component is created
+         * only when the form item is attached and visible.
+         * 
+         * @param fieldSupplier
+         *            Supplier creating the field component
+         * @param label
+         *            The label
+         */
+        public EnhancedFormItem(
+                SerializableSupplier<? extends Component> fieldSupplier,
+                Component label) {
+            this.fieldSupplier = Objects.requireNonNull(fieldSupplier,
+                    "Field supplier can't be null");
             addToLabel(label);
-            if (comp instanceof HasValue) {
-                HasValue field = (HasValue) comp;
-                if (field.isRequiredIndicatorVisible()) {
-                    getElement().getStyle().set("--required-dot-opacity", "1");
+        }
+
+        private void initField(Component comp) {
+            field = comp;
+            add(comp);
+            if (isFieldRequired()) {
+                setRequiredDotVisible(true);
+            }
+            snapshotField();
+        }
+
+        private void update(FormItemSpec spec) {
+            // A lazy spec keeps the field of the reused form item
+            if (spec.getField() != null && spec.getField() != field) {
+                replaceField(spec.getField());
+            }
+            if (spec.getLabel() != null) {
+                if (getLabelElements().noneMatch(
+                        element -> element == spec.getLabel().getElement())) {
+                    setLabel(spec.getLabel());
                 }
-                field.addValueChangeListener(event -> {
-                    if (!stickyIndicator && event.getValue() != null) {
-                        getElement().getStyle().set("--required-dot-opacity",
-                                "0");
-                    }
+            } else {
+                // With a label provider the text of the spec is the label
+                // key, so it is resolved instead of compared as is
+                Optional<EnhancedFormLayout> translating = getLayout()
+                        .filter(layout -> layout.labelProvider != null);
+                Optional<HasText> label = getTextLabel();
+                if (!label.isPresent()) {
+                    setLabel(spec.createLabel());
+                } else if (!translating.isPresent() && !Objects.equals(
+                        spec.getLabelText(), label.get().getText())) {
+                    label.get().setText(spec.getLabelText());
+                    labelChanged();
+                }
+                translating.ifPresent(layout -> {
+                    setLabelKey(spec.getLabelText());
+                    relabel(layout.labelLocale, layout.labelProvider);
                 });
             }
-            listenerReg = comp.getElement()
-                    .addPropertyChangeListener("required", event -> {
-                        if (((HasValue) comp).isRequiredIndicatorVisible()) {
-                            getElement().getStyle()
-                                    .set("--required-dot-opacity", "1");
-                        } else {
-                            getElement().getStyle()
-                                    .set("--required-dot-opacity", "0");
-                        }
-                    });
-            if (formItemLabelWidth != null)
-                setLabelWidth(formItemLabelWidth);
-            if (formItemRowSpacing != null)
-                setRowSpacing(formItemRowSpacing);
-            if (labelsRightAligned)
-                setRightAligned(true);
+        }
+
+        private void replaceField(Component comp) {
+            if (getReadOnlyView() != null) {
+                field = comp;
+                fieldSupplier = null;
+                getLayout().ifPresent(layout -> setReadOnlyView(true,
+                        layout.readOnlyFormatter));
+                return;
+            }
+            unlistenField();
+            if (field != null && field.getParent().orElse(null) == this) {
+                remove(field);
+            }
+            fieldSupplier = null;
+            if (isFieldRequired()) {
+                setRequiredDotVisible(false);
+            }
+            initField(comp);
+            getLayout().filter(layout -> layout.clientSideRequiredIndicator)
+                    .ifPresent(layout -> updateRequiredIndicator(true,
+                            layout.stickyIndicator));
+            if (isAttached()) {
+                registerField();
+            }
+        }
+
+        private void recycle(String label) {
+            if (field instanceof HasValue) {
+                HasValue<?, ?> hasValue = (HasValue<?, ?>) field;
+                hasValue.clear();
+                hasValue.setRequiredIndicatorVisible(false);
+            }
+            if (getTextLabel().isPresent()) {
+                setLabel(label);
+            } else {
+                setLabel(new Label(label));
+            }
+            ComponentUtil.setData(this, LABEL_KEY, null);
+            ComponentUtil.setData(this, READ_ONLY_TEXT_KEY, null);
+            setVisible(true);
+            setRightAligned(false);
+            updateRequiredIndicator(false, false);
+            Style style = getElement().getStyle();
+            style.remove(REQUIRED_DOT_OPACITY);
+            style.remove(LABEL_WIDTH);
+            style.remove(ROW_SPACING);
+            style.remove("align-self");
+            getElement().removeAttribute("colspan");
+            ComponentUtil.setData(this, ITEM_KEY, null);
+            ComponentUtil.setData(this, COLSPAN_RANGE_KEY, null);
+            snapshotField();
+        }
+
+        private void ensureField() {
+            if (fieldSupplier == null) {
+                return;
+            }
+            if (getReadOnlyView() != null) {
+                if (ComponentUtil.getData(this, READ_ONLY_TEXT_KEY) == null) {
+                    // The read-only text was left empty until shown
+                    getLayout().ifPresent(layout -> setReadOnlyView(true,
+                            layout.readOnlyFormatter));
+                }
+                return;
+            }
+            Component comp = fieldSupplier.get();
+            fieldSupplier = null;
+            initField(comp);
+            getLayout().filter(layout -> layout.clientSideRequiredIndicator)
+                    .ifPresent(layout -> updateRequiredIndicator(true,
+                            layout.stickyIndicator));
+            registerField();
+        }
+
+        private void registerField() {
+            if (field == null || getReadOnlyView() != null) {
+                return;
+            }
+            Optional<EnhancedFormLayout> layout = getLayout();
+            // The value may have changed while detached
+            layout.ifPresent(l -> l.updateDirty(this));
+            if (layout.isPresent()
+                    && !layout.get().needsFieldListeners(field)) {
+                // Binder listener of the layout or the browser drives the
+                // indicator
+                unlistenedKnown = false;
+                unlistenedValue = null;
+                syncRequiredIndicator(layout.get().stickyIndicator);
+                return;
+            }
+            if (listenField() && layout.isPresent()
+                    && layout.get().metrics != null) {
+                layout.get().metrics.listenersRegistered(layout.get(), 1);
+            }
+            catchUpRequiredIndicator();
+        }
+
+        private void snapshotField() {
+            unlistenedKnown = field != null;
+            unlistenedRequired = isFieldRequired();
+            unlistenedValue = getFieldValue();
+        }
+
+        private void catchUpRequiredIndicator() {
+            if (!unlistenedKnown) {
+                return;
+            }
+            // Applies the changes made while the field was not listened, in
+            // the order the listeners would see them for a required field
+            // whose value is set
+            if (isFieldRequired() != unlistenedRequired) {
+                fieldRequiredChanged();
+            }
+            Object value = getFieldValue();
+            if (value != null && !Objects.equals(value, unlistenedValue)) {
+                fieldValueChanged();
+            }
+            unlistenedKnown = false;
+            unlistenedValue = null;
+        }
+
+        /**
+         * Registers the shared dispatcher to the field, unless registered
+         * already. The registrations are kept by the form item and serialized
+         * with it, so a deserialized form item removes the dispatcher from its
+         * field when detached like any other.
+         *
+         * @return Whether the dispatcher was registered
+         */
+        private boolean listenField() {
+            if (!(field instanceof HasValue) || valueChangeReg != null) {
+                return false;
+            }
+            valueChangeReg = RequiredIndicatorDispatcher
+                    .listenValue((HasValue<?, ?>) field);
+            requiredReg = RequiredIndicatorDispatcher.listenRequired(field);
+            return true;
+        }
+
+        private void unlistenField() {
+            if (valueChangeReg != null) {
+                valueChangeReg.remove();
+                requiredReg.remove();
+                valueChangeReg = null;
+                requiredReg = null;
+            }
+        }
+
+        private void syncRequiredIndicator(boolean sticky) {
+            if (field instanceof HasValue && getReadOnlyView() == null
+                    && !isClientSideIndicator()) {
+                HasValue<?, ?> hasValue = (HasValue<?, ?>) field;
+                setRequiredDotVisible(hasValue.isRequiredIndicatorVisible()
+                        && (sticky || hasValue.isEmpty()));
+            }
+        }
+
+        /**
+         * Sets the text shown instead of the field in read-only mode. The
+         * field of a lazy form item with a read-only text is not created
+         * until the layout is switched to edit mode.
+         *
+         * @see EnhancedFormLayout#setReadOnly(boolean)
+         *
+         * @param text
+         *            Supplier of the text, null to format the field value
+         * @return EnhancedFormItem for chaining
+         */
+        public EnhancedFormItem setReadOnlyText(
+                SerializableSupplier<String> text) {
+            ComponentUtil.setData(this, READ_ONLY_TEXT_KEY, text);
+            if (getReadOnlyView() != null) {
+                getLayout().ifPresent(layout -> setReadOnlyView(true,
+                        layout.readOnlyFormatter));
+            }
+            return this;
+        }
+
+        private void setReadOnlyView(boolean readOnly,
+                SerializableFunction<Object, String> formatter) {
+            Text readOnlyView = getReadOnlyView();
+            if (readOnly) {
+                @SuppressWarnings("unchecked")
+                SerializableSupplier<String> readOnlyText = (SerializableSupplier<String>) ComponentUtil
+                        .getData(this, READ_ONLY_TEXT_KEY);
+                // A lazy field is created for its value only once the form
+                // item is shown, e.g. its section is expanded
+                String text = readOnlyText != null ? readOnlyText.get()
+                        : field == null && !(isAttached() && isVisible()) ? ""
+                                : formatFieldValue(formatter);
+                if (readOnlyView != null) {
+                    readOnlyView.setText(text);
+                    return;
+                }
+                if (isFieldRequired()) {
+                    setRequiredDotVisible(false);
+                }
+                unlistenField();
+                if (field != null && field.getParent().orElse(null) == this) {
+                    remove(field);
+                }
+                readOnlyView = new Text(text);
+                ComponentUtil.setData(this, READ_ONLY_VIEW_KEY, readOnlyView);
+                add(readOnlyView);
+            } else if (readOnlyView != null) {
+                remove(readOnlyView);
+                ComponentUtil.setData(this, READ_ONLY_VIEW_KEY, null);
+                if (field != null) {
+                    initField(field);
+                    getLayout()
+                            .filter(layout -> layout.clientSideRequiredIndicator)
+                            .ifPresent(layout -> updateRequiredIndicator(true,
+                                    layout.stickyIndicator));
+                    if (isAttached()) {
+                        registerField();
+                    }
+                } else if (isAttached() && isVisible()) {
+                    ensureField();
+                }
+            }
+        }
+
+        private String formatFieldValue(
+                SerializableFunction<Object, String> formatter) {
+            if (field == null && fieldSupplier != null) {
+                // The field is needed for its value, but is not attached
+                field = fieldSupplier.get();
+                fieldSupplier = null;
+            }
+            return field instanceof HasValue
+                    ? formatter.apply(((HasValue<?, ?>) field).getValue())
+                    : "";
+        }
+
+        @Override
+        protected void onAttach(AttachEvent attachEvent) {
+            super.onAttach(attachEvent);
+            // Added e.g. through the element API
+            getLayout().ifPresent(layout -> layout.claimFormItem(this));
+            if (isVisible()) {
+                ensureField();
+            }
+            registerField();
+            labelChanged();
+        }
+
+        @Override
+        protected void onDetach(DetachEvent detachEvent) {
+            unlistenField();
+            if (field != null && getReadOnlyView() == null) {
+                snapshotField();
+            }
+            // Lets the layout release the form item if it was removed or
+            // moved out in some other way than with remove()
+            EnhancedFormLayout owner = ComponentUtil.getData(this,
+                    EnhancedFormLayout.class);
+            if (owner != null) {
+                owner.formItemDetached(this);
+            }
+            super.onDetach(detachEvent);
+        }
+
+        @Override
+        public void setVisible(boolean visible) {
+            super.setVisible(visible);
+            if (visible && isAttached()) {
+                ensureField();
+            }
+            getLayout().ifPresent(EnhancedFormLayout::schedulePacking);
+        }
+
+        private Optional<EnhancedFormLayout> getLayout() {
+            return getParent()
+                    .filter(parent -> parent instanceof EnhancedFormLayout)
+                    .map(parent -> (EnhancedFormLayout) parent);
+        }
+
+        private void reportStyleMutation(StyleMutation mutation) {
+            getLayout().ifPresent(
+                    layout -> layout.reportStyleMutation(mutation));
+        }
+
+        private Object getFieldValue() {
+            return field instanceof HasValue
+                    ? ((HasValue<?, ?>) field).getValue()
+                    : null;
+        }
+
+        private Text getReadOnlyView() {
+            return (Text) ComponentUtil.getData(this, READ_ONLY_VIEW_KEY);
+        }
+
+        private boolean isFieldRequired() {
+            return field instanceof HasValue && getReadOnlyView() == null
+                    && ((HasValue<?, ?>) field).isRequiredIndicatorVisible();
+        }
+
+        private boolean isClientSideIndicator() {
+            return getElement().getThemeList()
+                    .contains(CLIENT_INDICATOR_THEME);
+        }
+
+        private void fieldValueChanged() {
+            boolean sticky = getLayout().map(layout -> layout.stickyIndicator)
+                    .orElse(false);
+            if (!sticky && !isClientSideIndicator()) {
+                setRequiredDotVisible(false);
+            }
+        }
+
+        private void fieldRequiredChanged() {
+            if (!isClientSideIndicator()) {
+                setRequiredDotVisible(isFieldRequired());
+            }
+        }
+
+        private void updateRequiredIndicator(boolean clientSide,
+                boolean sticky) {
+            if (!(field instanceof HasValue)) {
+                return;
+            }
+            ThemeList themes = getElement().getThemeList();
+            if (clientSide) {
+                setRequiredDotVisible(false);
+                themes.add(CLIENT_INDICATOR_THEME);
+                if (sticky) {
+                    themes.add(STICKY_INDICATOR_THEME);
+                } else {
+                    themes.remove(STICKY_INDICATOR_THEME);
+                }
+            } else if (isClientSideIndicator()) {
+                themes.remove(CLIENT_INDICATOR_THEME);
+                themes.remove(STICKY_INDICATOR_THEME);
+                setRequiredDotVisible(isFieldRequired());
+            }
+        }
+
+        private void setRequiredDotVisible(boolean visible) {
+            // Hidden state is inherited from the layout
+            if (visible) {
+                getElement().getStyle().set(REQUIRED_DOT_OPACITY, "1");
+            } else {
+                getElement().getStyle().remove(REQUIRED_DOT_OPACITY);
+            }
+            reportStyleMutation(StyleMutation.REQUIRED_INDICATOR);
         }
 
         /**
@@ -218,8 +2299,48 @@ public class EnhancedFormLayout extends FormLayout {
          *            Label text as String
          */
         public void setLabel(String text) {
-            if (label != null) {
-                label.setText(text);
+            getTextLabel().ifPresent(label -> label.setText(text));
+            labelChanged();
+        }
+
+        /**
+         * Sets the key used for resolving the label text with
+         * {@link EnhancedFormLayout#relabel(Locale, LabelProvider)}. If not
+         * set, the label text at the time of the first relabelling is used as
+         * the key.
+         * 
+         * @param labelKey
+         *            The label key
+         * @return EnhancedFormItem for chaining
+         */
+        public EnhancedFormItem setLabelKey(String labelKey) {
+            ComponentUtil.setData(this, LABEL_KEY, labelKey);
+            return this;
+        }
+
+        /**
+         * Gets the key used for resolving the label text.
+         * 
+         * @return The label key, null if not set
+         */
+        public String getLabelKey() {
+            return (String) ComponentUtil.getData(this, LABEL_KEY);
+        }
+
+        private void relabel(Locale locale, LabelProvider labelProvider) {
+            Optional<HasText> label = getTextLabel();
+            if (!label.isPresent()) {
+                return;
+            }
+            String labelKey = getLabelKey();
+            if (labelKey == null) {
+                labelKey = label.get().getText();
+                setLabelKey(labelKey);
+            }
+            String text = labelProvider.getLabel(labelKey, locale);
+            if (text != null && !text.equals(label.get().getText())) {
+                label.get().setText(text);
+                labelChanged();
             }
         }
 
@@ -230,17 +2351,39 @@ public class EnhancedFormLayout extends FormLayout {
          *            Component
          */
         public void setLabel(Component label) {
-            if (label instanceof HasText) {
-                this.label = (HasText) label;
-            }
             clearLabel();
             addToLabel(label);
+            getLayout().ifPresent(layout -> {
+                if (layout.metrics != null) {
+                    layout.metrics.labelReplaced(layout);
+                }
+            });
+            labelChanged();
+        }
+
+        private void labelChanged() {
+            getLayout().ifPresent(layout -> {
+                layout.estimateLabelWidth(this);
+                layout.indexLabel(this);
+            });
+        }
+
+        private Stream<Element> getLabelElements() {
+            return getElement().getChildren().filter(
+                    child -> "label".equals(child.getAttribute("slot")));
+        }
+
+        private Optional<HasText> getTextLabel() {
+            // The label is looked up instead of kept in a field to keep the
+            // serialized form item compact
+            return getLabelElements().map(Element::getComponent)
+                    .filter(Optional::isPresent).map(Optional::get)
+                    .filter(comp -> comp instanceof HasText)
+                    .map(comp -> (HasText) comp).findFirst();
         }
 
         private void clearLabel() {
-            getElement().getChildren()
-                    .filter(child -> "label".equals(child.getAttribute("slot")))
-                    .collect(Collectors.toList())
+            getLabelElements().collect(Collectors.toList())
                     .forEach(getElement()::removeChild);
         }
 
@@ -252,7 +2395,8 @@ public class EnhancedFormLayout extends FormLayout {
          * @return EnhancedFormItem for chaining
          */
         public EnhancedFormItem setLabelWidth(String width) {
-            getStyle().set("--vaadin-form-item-label-width", width);
+            getStyle().set(LABEL_WIDTH, width);
+            reportStyleMutation(StyleMutation.LABEL_WIDTH);
             return this;
         }
 
@@ -265,7 +2409,8 @@ public class EnhancedFormLayout extends FormLayout {
          * @return EnhancedFormItem for chaining
          */
         public EnhancedFormItem setRowSpacing(String spacing) {
-            getStyle().set("--vaadin-form-item-row-spacing", spacing);
+            getStyle().set(ROW_SPACING, spacing);
+            reportStyleMutation(StyleMutation.ROW_SPACING);
             return this;
         }
 
@@ -283,6 +2428,7 @@ public class EnhancedFormLayout extends FormLayout {
             } else {
                 getElement().getThemeList().remove("right-aligned");
             }
+            reportStyleMutation(StyleMutation.ALIGNMENT);
             return this;
         }
 
@@ -300,6 +2446,7 @@ public class EnhancedFormLayout extends FormLayout {
             } else {
                 getElement().getStyle().set("align-self", "flex-start");
             }
+            reportStyleMutation(StyleMutation.ALIGNMENT);
             return this;
         }
     }
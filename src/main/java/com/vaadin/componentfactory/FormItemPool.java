@@ -0,0 +1,200 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+
+/**
+ * Bounded pool of detached {@link EnhancedFormItem}s together with their
+ * field components. Form items added with
+ * {@link EnhancedFormLayout#addPooledFormItem(Class, com.vaadin.flow.function.SerializableSupplier, String)}
+ * are returned to the pool of their layout when removed from it, and are
+ * reused for the next form item with the same field type instead of creating
+ * new ones. Form items idle in the pool for longer than the maximum idle time
+ * are dropped, as are the least recently released ones when the pool is
+ * full.
+ * <p>
+ * Idle form items are dropped lazily, when form items are taken from or
+ * returned to the pool, so a pool that is no longer used keeps its form
+ * items. Call {@link #evictIdle()} or {@link #clear()} e.g. from a detach
+ * listener of the UI to release them. The pool of {@link #forUI(UI)} is
+ * cleared when the UI is detached.
+ * <p>
+ * A form item added back to a layout by a caller still holding it is taken
+ * out of the pool, so the same form item is never in two places.
+ * <p>
+ * The pool is not thread safe. Share it only between the layouts of one UI,
+ * e.g. with {@link #forUI(UI)}.
+ *
+ * @see EnhancedFormLayout#setFormItemPool(FormItemPool)
+ */
+public class FormItemPool implements Serializable {
+
+    private static final int DEFAULT_MAX_SIZE = 64;
+    private static final Duration DEFAULT_MAX_IDLE = Duration.ofMinutes(5);
+
+    private final int maxSize;
+    private final long maxIdleNanos;
+    // Least recently released first. The pool is a cache, so it is not
+    // serialized with the session.
+    private transient Deque<PooledItem> items;
+
+    /**
+     * Creates a pool keeping at most 64 form items for at most 5 minutes.
+     */
+    public FormItemPool() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Creates a pool with the given limits.
+     *
+     * @param maxSize
+     *            Maximum number of pooled form items, must be positive
+     * @param maxIdle
+     *            Maximum time a form item is kept in the pool
+     */
+    public FormItemPool(int maxSize, Duration maxIdle) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxIdleNanos = Objects.requireNonNull(maxIdle,
+                "Max idle time can't be null").toNanos();
+    }
+
+    /**
+     * Gets the pool of the given UI, creating it with the default limits if
+     * needed. The pool is cleared when the UI is detached.
+     *
+     * @param ui
+     *            The UI
+     * @return The pool of the UI
+     */
+    public static FormItemPool forUI(UI ui) {
+        FormItemPool pool = ComponentUtil.getData(ui, FormItemPool.class);
+        if (pool == null) {
+            FormItemPool created = new FormItemPool();
+            ComponentUtil.setData(ui, FormItemPool.class, created);
+            ui.addDetachListener(event -> created.clear());
+            pool = created;
+        }
+        return pool;
+    }
+
+    /**
+     * Gets the number of form items currently in the pool.
+     *
+     * @return Number of form items
+     */
+    public int size() {
+        return items != null ? items.size() : 0;
+    }
+
+    /**
+     * Removes all the form items from the pool.
+     */
+    public void clear() {
+        if (items != null) {
+            items.forEach(pooled -> checkOut(pooled.formItem));
+        }
+        items = null;
+    }
+
+    /**
+     * Removes the form items idle in the pool for longer than the maximum
+     * idle time.
+     */
+    public void evictIdle() {
+        if (items != null) {
+            evictIdle(System.nanoTime());
+        }
+    }
+
+    EnhancedFormItem acquire(Class<?> fieldType) {
+        if (items == null) {
+            return null;
+        }
+        evictIdle(System.nanoTime());
+        // The most recently released item is taken first
+        Iterator<PooledItem> iterator = items.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledItem pooled = iterator.next();
+            if (pooled.fieldType == fieldType) {
+                iterator.remove();
+                checkOut(pooled.formItem);
+                return pooled.formItem;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes the given form item out of the pool, e.g. when it is added to a
+     * layout again by a caller holding it.
+     *
+     * @param formItem
+     *            The form item
+     */
+    void remove(EnhancedFormItem formItem) {
+        if (items != null) {
+            items.removeIf(pooled -> pooled.formItem == formItem);
+        }
+        checkOut(formItem);
+    }
+
+    /**
+     * Gets the pool holding the given form item.
+     *
+     * @param formItem
+     *            The form item
+     * @return The pool, null if the form item is not pooled
+     */
+    static FormItemPool getPool(EnhancedFormItem formItem) {
+        return ComponentUtil.getData(formItem, FormItemPool.class);
+    }
+
+    void release(EnhancedFormItem formItem, Class<?> fieldType) {
+        if (items == null) {
+            items = new ArrayDeque<>();
+        }
+        long now = System.nanoTime();
+        evictIdle(now);
+        if (items.size() == maxSize) {
+            checkOut(items.removeFirst().formItem);
+        }
+        items.addLast(new PooledItem(formItem, fieldType, now));
+        ComponentUtil.setData(formItem, FormItemPool.class, this);
+    }
+
+    private void evictIdle(long now) {
+        while (!items.isEmpty()
+                && now - items.peekFirst().releasedAt > maxIdleNanos) {
+            checkOut(items.removeFirst().formItem);
+        }
+    }
+
+    private static void checkOut(EnhancedFormItem formItem) {
+        ComponentUtil.setData(formItem, FormItemPool.class, null);
+    }
+
+    private static class PooledItem {
+        private final EnhancedFormItem formItem;
+        private final Class<?> fieldType;
+        private final long releasedAt;
+
+        private PooledItem(EnhancedFormItem formItem, Class<?> fieldType,
+                long releasedAt) {
+            this.formItem = formItem;
+            this.fieldType = fieldType;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
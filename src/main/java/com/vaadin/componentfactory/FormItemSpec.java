@@ -0,0 +1,127 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Label;
+import com.vaadin.flow.function.SerializableSupplier;
+
+/**
+ * Describes a single form item, i.e. a field component and its label, to be
+ * added to {@link EnhancedFormLayout} in bulk.
+ * <p>
+ * A spec created with a field supplier and a label text holds no components,
+ * and the field is created only when the form item is shown. Use these for
+ * large virtualized forms, where the specs of the form items not yet
+ * rendered are kept in the layout.
+ *
+ * @see EnhancedFormLayout#addFormItems(java.util.Collection)
+ */
+public class FormItemSpec implements Serializable {
+
+    private final Component field;
+    private final SerializableSupplier<? extends Component> fieldSupplier;
+    private final String labelText;
+    private final Component label;
+
+    /**
+     * Creates a spec for a field with a text label.
+     *
+     * @param field
+     *            The field component
+     * @param label
+     *            Label text as String
+     */
+    public FormItemSpec(Component field, String label) {
+        this.field = Objects.requireNonNull(field, "Field can't be null");
+        this.fieldSupplier = null;
+        this.labelText = label;
+        this.label = null;
+    }
+
+    /**
+     * Creates a spec for a lazily created field with a text label. The field
+     * is created when the form item is first attached and visible, like with
+     * {@link EnhancedFormLayout#addLazyFormItem(SerializableSupplier, String)}.
+     *
+     * @param fieldSupplier
+     *            Supplier creating the field component
+     * @param label
+     *            Label text as String
+     */
+    public FormItemSpec(
+            SerializableSupplier<? extends Component> fieldSupplier,
+            String label) {
+        this.field = null;
+        this.fieldSupplier = Objects.requireNonNull(fieldSupplier,
+                "Field supplier can't be null");
+        this.labelText = label;
+        this.label = null;
+    }
+
+    /**
+     * Creates a spec for a field with a label component.
+     *
+     * @param field
+     *            The field component
+     * @param label
+     *            The label component
+     */
+    public FormItemSpec(Component field, Component label) {
+        this.field = Objects.requireNonNull(field, "Field can't be null");
+        this.fieldSupplier = null;
+        this.labelText = null;
+        this.label = label;
+    }
+
+    /**
+     * Gets the field component of this spec.
+     *
+     * @return The field component, or null if the spec was created with a
+     *         field supplier
+     */
+    public Component getField() {
+        return field;
+    }
+
+    /**
+     * Gets the supplier creating the field component of this spec.
+     *
+     * @return The field supplier, or null if the spec was created with a
+     *         field component
+     */
+    public SerializableSupplier<? extends Component> getFieldSupplier() {
+        return fieldSupplier;
+    }
+
+    /**
+     * Gets the label text of this spec.
+     *
+     * @return Label text, or null if the spec was created with a label
+     *         component
+     */
+    public String getLabelText() {
+        return labelText;
+    }
+
+    /**
+     * Gets the label component of this spec.
+     *
+     * @return The label component, or null if the spec was created with a
+     *         label text
+     */
+    public Component getLabel() {
+        return label;
+    }
+
+    Component createLabel() {
+        return label != null ? label : new Label(labelText);
+    }
+
+    EnhancedFormItem createFormItem() {
+        return field != null ? new EnhancedFormItem(field, createLabel())
+                : new EnhancedFormItem(fieldSupplier, createLabel());
+    }
+}
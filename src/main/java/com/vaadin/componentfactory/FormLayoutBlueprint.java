@@ -0,0 +1,432 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.componentfactory.EnhancedFormLayout.FormLayoutOrientation;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep;
+import com.vaadin.flow.function.SerializableFunction;
+
+/**
+ * Immutable description of a form, i.e. the items with their labels, per-item
+ * styles and themes, the responsive steps, orientation and the layout
+ * defaults. The blueprint is built once and can be shared between UIs and
+ * threads. Each UI stamps its own {@link EnhancedFormLayout} from it with
+ * {@link #createLayout(SerializableFunction)}. Item label widths, row
+ * spacings and label alignments that match the layout defaults are dropped
+ * when the blueprint is built, so stamping a layout creates the form items,
+ * their labels and the field components, and sets only the styles that
+ * differ from the defaults.
+ * <p>
+ * No state is shared between the stamped layouts, as each needs its own
+ * elements. Stamping replays the description with the same calls as a
+ * hand-written form, except that the form items are added with a single
+ * {@link EnhancedFormLayout#addFormItems(java.util.Collection)} call.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * FormLayoutBlueprint blueprint = FormLayoutBlueprint.builder()
+ *         .withFormItemLabelWidth("10em").addItem("firstName", "First name")
+ *         .addItem(FormLayoutBlueprint.item("email", "E-mail").withColspan(2))
+ *         .build();
+ * EnhancedFormLayout layout = blueprint.createLayout(key -&gt; new TextField());
+ * </pre>
+ */
+public final class FormLayoutBlueprint implements Serializable {
+
+    private final List<ItemBlueprint> items;
+    private final List<ResponsiveStep> responsiveSteps;
+    private final FormLayoutOrientation orientation;
+    private final String formItemLabelWidth;
+    private final String formItemRowSpacing;
+    private final boolean labelsRightAligned;
+    private final boolean stickyIndicator;
+
+    private FormLayoutBlueprint(Builder builder) {
+        List<ItemBlueprint> resolvedItems = new ArrayList<>(
+                builder.items.size());
+        for (ItemBlueprint item : builder.items) {
+            resolvedItems.add(item.withoutDefaults(builder));
+        }
+        items = Collections.unmodifiableList(resolvedItems);
+        responsiveSteps = builder.responsiveSteps;
+        orientation = builder.orientation;
+        formItemLabelWidth = builder.formItemLabelWidth;
+        formItemRowSpacing = builder.formItemRowSpacing;
+        labelsRightAligned = builder.labelsRightAligned;
+        stickyIndicator = builder.stickyIndicator;
+    }
+
+    /**
+     * Creates a new builder for a blueprint.
+     *
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a new item blueprint.
+     *
+     * @param key
+     *            Key passed to the field factory when stamping the layout
+     * @param label
+     *            Label text as String
+     * @return A new item blueprint
+     */
+    public static ItemBlueprint item(String key, String label) {
+        return new ItemBlueprint(key, label, null, null, null, null, 0);
+    }
+
+    /**
+     * Creates a new layout from this blueprint. The form items, labels and
+     * field components are created per call, everything else is taken from
+     * the blueprint.
+     *
+     * @param fieldFactory
+     *            Function creating the field component for the key of an item
+     * @return A new layout
+     */
+    public EnhancedFormLayout createLayout(
+            SerializableFunction<String, Component> fieldFactory) {
+        Objects.requireNonNull(fieldFactory, "Field factory can't be null");
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        if (formItemLabelWidth != null) {
+            layout.setFormItemLabelWidth(formItemLabelWidth);
+        }
+        if (formItemRowSpacing != null) {
+            layout.setFormItemRowSpacing(formItemRowSpacing);
+        }
+        layout.setLabelsRightAligned(labelsRightAligned);
+        layout.setStickyIndicator(stickyIndicator);
+        if (!responsiveSteps.isEmpty()) {
+            // Builds the JSON per layout, the element owns the JSON it is given
+            layout.setResponsiveSteps(responsiveSteps);
+        }
+        if (orientation != null) {
+            layout.setOrientation(orientation);
+        }
+        List<FormItemSpec> specs = new ArrayList<>(items.size());
+        for (ItemBlueprint item : items) {
+            specs.add(new FormItemSpec(fieldFactory.apply(item.key),
+                    item.label));
+        }
+        List<EnhancedFormItem> formItems = layout.addFormItems(specs);
+        for (int i = 0; i < formItems.size(); i++) {
+            items.get(i).apply(layout, formItems.get(i));
+        }
+        return layout;
+    }
+
+    /**
+     * Gets the item blueprints.
+     *
+     * @return Unmodifiable list of the item blueprints
+     */
+    public List<ItemBlueprint> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the responsive steps.
+     *
+     * @return Unmodifiable list of the responsive steps
+     */
+    public List<ResponsiveStep> getResponsiveSteps() {
+        return responsiveSteps;
+    }
+
+    /**
+     * Gets the orientation.
+     *
+     * @return The orientation, null if not set
+     */
+    public FormLayoutOrientation getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Immutable description of a single form item in a blueprint. The
+     * with-methods return a new instance.
+     */
+    public static final class ItemBlueprint implements Serializable {
+
+        private final String key;
+        private final String label;
+        private final String labelWidth;
+        private final String rowSpacing;
+        private final Boolean rightAligned;
+        private final Boolean bottomAligned;
+        private final int colspan;
+
+        private ItemBlueprint(String key, String label, String labelWidth,
+                String rowSpacing, Boolean rightAligned, Boolean bottomAligned,
+                int colspan) {
+            this.key = Objects.requireNonNull(key, "Key can't be null");
+            this.label = label;
+            this.labelWidth = labelWidth;
+            this.rowSpacing = rowSpacing;
+            this.rightAligned = rightAligned;
+            this.bottomAligned = bottomAligned;
+            this.colspan = colspan;
+        }
+
+        /**
+         * Sets the label width of this item, overriding the layout default.
+         *
+         * @see EnhancedFormItem#setLabelWidth(String)
+         *
+         * @param labelWidth
+         *            A CSS accepted width as string
+         * @return A new item blueprint
+         */
+        public ItemBlueprint withLabelWidth(String labelWidth) {
+            return new ItemBlueprint(key, label, labelWidth, rowSpacing,
+                    rightAligned, bottomAligned, colspan);
+        }
+
+        /**
+         * Sets the row spacing of this item, overriding the layout default.
+         *
+         * @see EnhancedFormItem#setRowSpacing(String)
+         *
+         * @param rowSpacing
+         *            A CSS accepted value as string
+         * @return A new item blueprint
+         */
+        public ItemBlueprint withRowSpacing(String rowSpacing) {
+            return new ItemBlueprint(key, label, labelWidth, rowSpacing,
+                    rightAligned, bottomAligned, colspan);
+        }
+
+        /**
+         * Sets the label alignment of this item, overriding the layout
+         * default.
+         *
+         * @see EnhancedFormItem#setRightAligned(boolean)
+         *
+         * @param rightAligned
+         *            A boolean value
+         * @return A new item blueprint
+         */
+        public ItemBlueprint withRightAligned(boolean rightAligned) {
+            return new ItemBlueprint(key, label, labelWidth, rowSpacing,
+                    rightAligned, bottomAligned, colspan);
+        }
+
+        /**
+         * Sets this item to be aligned at bottom.
+         *
+         * @see EnhancedFormItem#setBottomAligned(boolean)
+         *
+         * @param bottomAligned
+         *            A boolean value
+         * @return A new item blueprint
+         */
+        public ItemBlueprint withBottomAligned(boolean bottomAligned) {
+            return new ItemBlueprint(key, label, labelWidth, rowSpacing,
+                    rightAligned, bottomAligned, colspan);
+        }
+
+        /**
+         * Sets the colspan of this item.
+         *
+         * @param colspan
+         *            Number of columns, must be positive
+         * @return A new item blueprint
+         */
+        public ItemBlueprint withColspan(int colspan) {
+            if (colspan < 1) {
+                throw new IllegalArgumentException(
+                        "Colspan must be positive");
+            }
+            return new ItemBlueprint(key, label, labelWidth, rowSpacing,
+                    rightAligned, bottomAligned, colspan);
+        }
+
+        private ItemBlueprint withoutDefaults(Builder defaults) {
+            return new ItemBlueprint(key, label,
+                    Objects.equals(labelWidth, defaults.formItemLabelWidth)
+                            ? null
+                            : labelWidth,
+                    Objects.equals(rowSpacing, defaults.formItemRowSpacing)
+                            ? null
+                            : rowSpacing,
+                    Objects.equals(rightAligned, defaults.labelsRightAligned)
+                            ? null
+                            : rightAligned,
+                    bottomAligned, colspan);
+        }
+
+        /**
+         * Gets the key passed to the field factory when stamping a layout.
+         *
+         * @return The key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the label text.
+         *
+         * @return The label text, null if not set
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        private void apply(EnhancedFormLayout layout,
+                EnhancedFormItem formItem) {
+            if (labelWidth != null) {
+                formItem.setLabelWidth(labelWidth);
+            }
+            if (rowSpacing != null) {
+                formItem.setRowSpacing(rowSpacing);
+            }
+            if (rightAligned != null) {
+                formItem.setRightAligned(rightAligned);
+            }
+            if (bottomAligned != null) {
+                formItem.setBottomAligned(bottomAligned);
+            }
+            if (colspan > 0) {
+                layout.setColspan(formItem, colspan);
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link FormLayoutBlueprint}. The builder is not thread safe,
+     * but the built blueprint is.
+     */
+    public static final class Builder implements Serializable {
+
+        private final List<ItemBlueprint> items = new ArrayList<>();
+        private List<ResponsiveStep> responsiveSteps = Collections
+                .emptyList();
+        private FormLayoutOrientation orientation;
+        private String formItemLabelWidth;
+        private String formItemRowSpacing;
+        private boolean labelsRightAligned;
+        private boolean stickyIndicator;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an item with the given key and label text.
+         *
+         * @param key
+         *            Key passed to the field factory when stamping the layout
+         * @param label
+         *            Label text as String
+         * @return This builder for chaining
+         */
+        public Builder addItem(String key, String label) {
+            return addItem(item(key, label));
+        }
+
+        /**
+         * Adds an item blueprint.
+         *
+         * @param item
+         *            The item blueprint
+         * @return This builder for chaining
+         */
+        public Builder addItem(ItemBlueprint item) {
+            items.add(Objects.requireNonNull(item, "Item can't be null"));
+            return this;
+        }
+
+        /**
+         * @see EnhancedFormLayout#setResponsiveSteps(ResponsiveStep...)
+         *
+         * @param steps
+         *            The responsive steps
+         * @return This builder for chaining
+         */
+        public Builder withResponsiveSteps(ResponsiveStep... steps) {
+            responsiveSteps = Collections
+                    .unmodifiableList(new ArrayList<>(Arrays.asList(steps)));
+            return this;
+        }
+
+        /**
+         * @see EnhancedFormLayout#setOrientation(FormLayoutOrientation)
+         *
+         * @param orientation
+         *            The orientation
+         * @return This builder for chaining
+         */
+        public Builder withOrientation(FormLayoutOrientation orientation) {
+            this.orientation = orientation;
+            return this;
+        }
+
+        /**
+         * @see EnhancedFormLayout#setFormItemLabelWidth(String)
+         *
+         * @param width
+         *            A CSS accepted width as string
+         * @return This builder for chaining
+         */
+        public Builder withFormItemLabelWidth(String width) {
+            formItemLabelWidth = width;
+            return this;
+        }
+
+        /**
+         * @see EnhancedFormLayout#setFormItemRowSpacing(String)
+         *
+         * @param spacing
+         *            A CSS accepted value as string
+         * @return This builder for chaining
+         */
+        public Builder withFormItemRowSpacing(String spacing) {
+            formItemRowSpacing = spacing;
+            return this;
+        }
+
+        /**
+         * @see EnhancedFormLayout#setLabelsRightAligned(boolean)
+         *
+         * @param rightAligned
+         *            A boolean value
+         * @return This builder for chaining
+         */
+        public Builder withLabelsRightAligned(boolean rightAligned) {
+            labelsRightAligned = rightAligned;
+            return this;
+        }
+
+        /**
+         * @see EnhancedFormLayout#setStickyIndicator(boolean)
+         *
+         * @param stickyIndicator
+         *            A boolean value
+         * @return This builder for chaining
+         */
+        public Builder withStickyIndicator(boolean stickyIndicator) {
+            this.stickyIndicator = stickyIndicator;
+            return this;
+        }
+
+        /**
+         * Builds the immutable blueprint.
+         *
+         * @return The blueprint
+         */
+        public FormLayoutBlueprint build() {
+            return new FormLayoutBlueprint(this);
+        }
+    }
+}
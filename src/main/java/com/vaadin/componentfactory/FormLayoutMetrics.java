@@ -0,0 +1,93 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.FormLayoutOrientation;
+
+/**
+ * Listener for instrumenting {@link EnhancedFormLayout}. All the methods have
+ * empty default implementations, so implementations need to override only
+ * the ones they are interested in.
+ *
+ * @see EnhancedFormLayout#setMetrics(FormLayoutMetrics)
+ * @see InMemoryFormLayoutMetrics
+ */
+public interface FormLayoutMetrics extends Serializable {
+
+    /**
+     * Types of inline style and theme mutations done by the form items.
+     */
+    enum StyleMutation {
+        REQUIRED_INDICATOR, LABEL_WIDTH, ROW_SPACING, ALIGNMENT;
+    }
+
+    /**
+     * Called when form items have been added to the layout.
+     *
+     * @param layout
+     *            The layout
+     * @param count
+     *            Number of form items added
+     * @param nanos
+     *            Time spent creating and adding the items in nanoseconds
+     */
+    default void itemsAdded(EnhancedFormLayout layout, int count,
+            long nanos) {
+    }
+
+    /**
+     * Called when form items have been removed from the layout.
+     *
+     * @param layout
+     *            The layout
+     * @param count
+     *            Number of form items removed
+     */
+    default void itemsRemoved(EnhancedFormLayout layout, int count) {
+    }
+
+    /**
+     * Called when required indicator listeners have been registered to new
+     * fields.
+     *
+     * @param layout
+     *            The layout
+     * @param count
+     *            Number of fields the listeners were registered to
+     */
+    default void listenersRegistered(EnhancedFormLayout layout, int count) {
+    }
+
+    /**
+     * Called when a form item or the layout mutates an inline style or theme.
+     *
+     * @param layout
+     *            The layout
+     * @param mutation
+     *            Type of the mutation
+     */
+    default void styleMutated(EnhancedFormLayout layout,
+            StyleMutation mutation) {
+    }
+
+    /**
+     * Called when the label component of a form item has been replaced.
+     *
+     * @param layout
+     *            The layout
+     */
+    default void labelReplaced(EnhancedFormLayout layout) {
+    }
+
+    /**
+     * Called when the orientation of the layout has been set.
+     *
+     * @param layout
+     *            The layout
+     * @param orientation
+     *            The new orientation
+     */
+    default void orientationChanged(EnhancedFormLayout layout,
+            FormLayoutOrientation orientation) {
+    }
+}
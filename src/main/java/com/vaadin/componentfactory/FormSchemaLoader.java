@@ -0,0 +1,331 @@
+package com.vaadin.componentfactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.FormLayoutOrientation;
+import com.vaadin.componentfactory.FormLayoutBlueprint.ItemBlueprint;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep.LabelsPosition;
+import com.vaadin.flow.function.SerializableFunction;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+/**
+ * Loads form definitions from JSON files and compiles them to
+ * {@link FormLayoutBlueprint}s. Compiled blueprints are kept in a bounded LRU
+ * cache and a file is compiled again only when its modification time
+ * changes. The loader is thread safe and is meant to be shared by the whole
+ * application.
+ * <p>
+ * The form definition has the following format, where all the properties
+ * except the field keys are optional:
+ *
+ * <pre>
+ * {
+ *   "orientation": "vertical",
+ *   "labelWidth": "10em",
+ *   "rowSpacing": "10px",
+ *   "labelsRightAligned": true,
+ *   "stickyIndicator": true,
+ *   "responsiveSteps": [
+ *     { "minWidth": "0", "columns": 1, "labelsPosition": "top" },
+ *     { "minWidth": "40em", "columns": 2 }
+ *   ],
+ *   "fields": [
+ *     { "key": "firstName", "label": "First name" },
+ *     { "key": "email", "label": "E-mail", "colspan": 2, "labelWidth": "5em",
+ *       "rightAligned": false, "bottomAligned": true }
+ *   ]
+ * }
+ * </pre>
+ */
+public class FormSchemaLoader {
+
+    private static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<Path, CompiledSchema> cache;
+
+    /**
+     * Creates a loader caching at most 256 compiled form definitions.
+     */
+    public FormSchemaLoader() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a loader with the given cache size.
+     *
+     * @param maxSize
+     *            Maximum number of compiled form definitions kept in the
+     *            cache, must be positive
+     */
+    public FormSchemaLoader(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        cache = new LinkedHashMap<Path, CompiledSchema>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Path, CompiledSchema> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the compiled blueprint of the given form definition file. The file
+     * is read and compiled only if it is not cached or has been modified
+     * since it was compiled.
+     *
+     * @param file
+     *            Path of the JSON form definition
+     * @return The compiled blueprint
+     * @throws UncheckedIOException
+     *             if the file can't be read
+     * @throws IllegalArgumentException
+     *             if the form definition is not valid
+     */
+    public FormLayoutBlueprint load(Path file) {
+        Objects.requireNonNull(file, "File can't be null");
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            synchronized (cache) {
+                CompiledSchema compiled = cache.get(file);
+                if (compiled != null && compiled.modified.equals(modified)) {
+                    return compiled.blueprint;
+                }
+            }
+            // Compile outside the lock, racing threads produce equal results
+            FormLayoutBlueprint blueprint = compile(new String(
+                    Files.readAllBytes(file), StandardCharsets.UTF_8));
+            synchronized (cache) {
+                cache.put(file, new CompiledSchema(modified, blueprint));
+            }
+            return blueprint;
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Failed to read form definition " + file, e);
+        }
+    }
+
+    /**
+     * Creates a new layout from the given form definition file.
+     *
+     * @see #load(Path)
+     * @see FormLayoutBlueprint#createLayout(SerializableFunction)
+     *
+     * @param file
+     *            Path of the JSON form definition
+     * @param fieldFactory
+     *            Function creating the field component for the key of a field
+     * @return A new layout
+     */
+    public EnhancedFormLayout createLayout(Path file,
+            SerializableFunction<String, Component> fieldFactory) {
+        return load(file).createLayout(fieldFactory);
+    }
+
+    /**
+     * Removes all the compiled form definitions from the cache.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Compiles the given JSON form definition to a blueprint without caching.
+     *
+     * @param json
+     *            The form definition
+     * @return The compiled blueprint
+     * @throws IllegalArgumentException
+     *             if the form definition is not valid
+     */
+    public static FormLayoutBlueprint compile(String json) {
+        Objects.requireNonNull(json, "Json can't be null");
+        JsonValue schema;
+        try {
+            schema = Json.parse(json);
+        } catch (JsonException e) {
+            throw new IllegalArgumentException("Invalid form definition", e);
+        }
+        if (schema == null || schema.getType() != JsonType.OBJECT) {
+            throw new IllegalArgumentException(
+                    "Form definition must be a JSON object");
+        }
+        return compile((JsonObject) schema);
+    }
+
+    private static FormLayoutBlueprint compile(JsonObject schema) {
+        FormLayoutBlueprint.Builder builder = FormLayoutBlueprint.builder();
+        if (schema.hasKey("orientation")) {
+            builder.withOrientation(getEnum(schema, "", "orientation",
+                    FormLayoutOrientation.class));
+        }
+        if (schema.hasKey("labelWidth")) {
+            builder.withFormItemLabelWidth(
+                    getString(schema, "", "labelWidth"));
+        }
+        if (schema.hasKey("rowSpacing")) {
+            builder.withFormItemRowSpacing(
+                    getString(schema, "", "rowSpacing"));
+        }
+        if (schema.hasKey("labelsRightAligned")) {
+            builder.withLabelsRightAligned(
+                    getBoolean(schema, "", "labelsRightAligned"));
+        }
+        if (schema.hasKey("stickyIndicator")) {
+            builder.withStickyIndicator(
+                    getBoolean(schema, "", "stickyIndicator"));
+        }
+        if (schema.hasKey("responsiveSteps")) {
+            JsonArray stepsJson = getArray(schema, "", "responsiveSteps");
+            ResponsiveStep[] steps = new ResponsiveStep[stepsJson.length()];
+            for (int i = 0; i < steps.length; i++) {
+                String path = "responsiveSteps[" + i + "]";
+                steps[i] = compileStep(getObject(stepsJson, path, i),
+                        path + ".");
+            }
+            builder.withResponsiveSteps(steps);
+        }
+        if (schema.hasKey("fields")) {
+            JsonArray fields = getArray(schema, "", "fields");
+            for (int i = 0; i < fields.length(); i++) {
+                String path = "fields[" + i + "]";
+                builder.addItem(
+                        compileItem(getObject(fields, path, i), path + "."));
+            }
+        }
+        return builder.build();
+    }
+
+    private static ResponsiveStep compileStep(JsonObject stepJson,
+            String path) {
+        String minWidth = getString(stepJson, path, "minWidth");
+        int columns = getPositiveInt(stepJson, path, "columns");
+        if (!stepJson.hasKey("labelsPosition")) {
+            return new ResponsiveStep(minWidth, columns);
+        }
+        return new ResponsiveStep(minWidth, columns, getEnum(stepJson, path,
+                "labelsPosition", LabelsPosition.class));
+    }
+
+    private static ItemBlueprint compileItem(JsonObject fieldJson,
+            String path) {
+        ItemBlueprint item = FormLayoutBlueprint.item(
+                getString(fieldJson, path, "key"),
+                fieldJson.hasKey("label")
+                        ? getString(fieldJson, path, "label")
+                        : null);
+        if (fieldJson.hasKey("labelWidth")) {
+            item = item
+                    .withLabelWidth(getString(fieldJson, path, "labelWidth"));
+        }
+        if (fieldJson.hasKey("rowSpacing")) {
+            item = item
+                    .withRowSpacing(getString(fieldJson, path, "rowSpacing"));
+        }
+        if (fieldJson.hasKey("rightAligned")) {
+            item = item.withRightAligned(
+                    getBoolean(fieldJson, path, "rightAligned"));
+        }
+        if (fieldJson.hasKey("bottomAligned")) {
+            item = item.withBottomAligned(
+                    getBoolean(fieldJson, path, "bottomAligned"));
+        }
+        if (fieldJson.hasKey("colspan")) {
+            item = item.withColspan(getPositiveInt(fieldJson, path, "colspan"));
+        }
+        return item;
+    }
+
+    private static JsonValue getValue(JsonObject json, String path,
+            String key, JsonType type) {
+        JsonValue value = json.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException(
+                    "Form definition key " + path + key + " is missing");
+        }
+        if (value.getType() != type) {
+            throw new IllegalArgumentException("Form definition key " + path
+                    + key + " must be a "
+                    + type.name().toLowerCase(Locale.ROOT));
+        }
+        return value;
+    }
+
+    private static String getString(JsonObject json, String path,
+            String key) {
+        return getValue(json, path, key, JsonType.STRING).asString();
+    }
+
+    private static boolean getBoolean(JsonObject json, String path,
+            String key) {
+        return getValue(json, path, key, JsonType.BOOLEAN).asBoolean();
+    }
+
+    private static int getPositiveInt(JsonObject json, String path,
+            String key) {
+        double number = getValue(json, path, key, JsonType.NUMBER)
+                .asNumber();
+        if (number < 1 || number != Math.floor(number)) {
+            throw new IllegalArgumentException("Form definition key " + path
+                    + key + " must be a positive integer");
+        }
+        return (int) number;
+    }
+
+    private static JsonArray getArray(JsonObject json, String path,
+            String key) {
+        return (JsonArray) getValue(json, path, key, JsonType.ARRAY);
+    }
+
+    private static JsonObject getObject(JsonArray array, String path,
+            int index) {
+        JsonValue value = array.get(index);
+        if (value == null || value.getType() != JsonType.OBJECT) {
+            throw new IllegalArgumentException(
+                    "Form definition entry " + path + " must be an object");
+        }
+        return (JsonObject) value;
+    }
+
+    private static <E extends Enum<E>> E getEnum(JsonObject json,
+            String path, String key, Class<E> type) {
+        String name = getString(json, path, key);
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Form definition key " + path
+                    + key + " has an unknown value " + name, e);
+        }
+    }
+
+    private static class CompiledSchema {
+        private final FileTime modified;
+        private final FormLayoutBlueprint blueprint;
+
+        private CompiledSchema(FileTime modified,
+                FormLayoutBlueprint blueprint) {
+            this.modified = modified;
+            this.blueprint = blueprint;
+        }
+    }
+}
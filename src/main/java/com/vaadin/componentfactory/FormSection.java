@@ -0,0 +1,111 @@
+package com.vaadin.componentfactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.ClickNotifier;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.function.SerializableSupplier;
+
+/**
+ * Collapsible section header of {@link EnhancedFormLayout}. The form items of
+ * the section are shown only when the section is expanded, and their field
+ * components are created when the section is expanded for the first time.
+ * Clicking the header or pressing Enter or Space on it toggles the section.
+ *
+ * @see EnhancedFormLayout#addSection(String)
+ */
+@Tag("div")
+public class FormSection extends Component
+        implements ClickNotifier<FormSection>, HasStyle {
+
+    // Keys activating the header like a native button
+    static final String ACTIVATION_KEY_FILTER = "event.key === 'Enter' "
+            + "|| event.key === ' '";
+
+    private final List<EnhancedFormItem> formItems = new ArrayList<>();
+    private boolean expanded;
+
+    FormSection(String caption) {
+        getElement().setText(caption);
+        getElement().getClassList().add("enhanced-form-section");
+        getElement().setAttribute("role", "button");
+        getElement().setAttribute("tabindex", "0");
+        getElement().setAttribute("aria-expanded", "false");
+        addClickListener(event -> setExpanded(!expanded));
+        // Prevents Space from scrolling the page
+        getElement()
+                .addEventListener("keydown", event -> setExpanded(!expanded))
+                .setFilter(ACTIVATION_KEY_FILTER)
+                .addEventData("event.preventDefault()");
+    }
+
+    /**
+     * Adds a form item to the end of this section. The field component is
+     * created when the section is expanded for the first time.
+     *
+     * @param field
+     *            Supplier creating the field component
+     * @param label
+     *            Label text as String
+     * @return The created form item
+     */
+    public EnhancedFormItem addLazyFormItem(
+            SerializableSupplier<? extends Component> field, String label) {
+        EnhancedFormLayout layout = getParent()
+                .filter(parent -> parent instanceof EnhancedFormLayout)
+                .map(parent -> (EnhancedFormLayout) parent)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Section is not in an EnhancedFormLayout"));
+        pruneFormItems(layout);
+        Component last = formItems.isEmpty() ? this
+                : formItems.get(formItems.size() - 1);
+        int index = layout.getElement().indexOfChild(last.getElement()) + 1;
+        EnhancedFormItem formItem = layout.insertLazyFormItem(index, field,
+                label, expanded);
+        formItems.add(formItem);
+        return formItem;
+    }
+
+    /**
+     * Expands or collapses this section.
+     *
+     * @param expanded
+     *            A boolean value
+     */
+    public void setExpanded(boolean expanded) {
+        this.expanded = expanded;
+        getElement().setAttribute("expanded", expanded);
+        getElement().setAttribute("aria-expanded", String.valueOf(expanded));
+        getParent().ifPresent(this::pruneFormItems);
+        formItems.forEach(formItem -> formItem.setVisible(expanded));
+    }
+
+    private void pruneFormItems(Component layout) {
+        // Form items removed from the layout no longer belong to the section
+        formItems.removeIf(
+                formItem -> formItem.getParent().orElse(null) != layout);
+    }
+
+    /**
+     * Checks whether this section is expanded.
+     *
+     * @return A boolean value
+     */
+    public boolean isExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Gets the form items of this section.
+     *
+     * @return Unmodifiable list of the form items
+     */
+    public List<EnhancedFormItem> getFormItems() {
+        return Collections.unmodifiableList(formItems);
+    }
+}
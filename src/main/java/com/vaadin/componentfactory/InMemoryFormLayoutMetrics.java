@@ -0,0 +1,203 @@
+package com.vaadin.componentfactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.FormLayoutOrientation;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+
+/**
+ * {@link FormLayoutMetrics} implementation that aggregates the counts and
+ * timings in memory. Instances obtained with {@link #forUI(UI)} aggregate the
+ * layouts of one UI and additionally add everything to the JVM wide totals
+ * available from {@link #getJvmTotals()}.
+ */
+public class InMemoryFormLayoutMetrics implements FormLayoutMetrics {
+
+    private static final InMemoryFormLayoutMetrics JVM_TOTALS = new InMemoryFormLayoutMetrics(
+            false);
+
+    private final boolean aggregateToJvm;
+    private final LongAdder itemsAdded = new LongAdder();
+    private final LongAdder itemsAddedNanos = new LongAdder();
+    private final LongAdder itemsRemoved = new LongAdder();
+    private final LongAdder listenerRegistrations = new LongAdder();
+    private final LongAdder labelReplacements = new LongAdder();
+    private final LongAdder orientationChanges = new LongAdder();
+    private final Map<StyleMutation, LongAdder> styleMutations = new EnumMap<>(
+            StyleMutation.class);
+
+    /**
+     * Creates a new instance which also adds everything to the JVM wide
+     * totals.
+     */
+    public InMemoryFormLayoutMetrics() {
+        this(true);
+    }
+
+    private InMemoryFormLayoutMetrics(boolean aggregateToJvm) {
+        this.aggregateToJvm = aggregateToJvm;
+        for (StyleMutation mutation : StyleMutation.values()) {
+            styleMutations.put(mutation, new LongAdder());
+        }
+    }
+
+    /**
+     * Gets the metrics instance of the given UI, creating it if needed.
+     *
+     * @param ui
+     *            The UI
+     * @return The metrics of the UI
+     */
+    public static InMemoryFormLayoutMetrics forUI(UI ui) {
+        InMemoryFormLayoutMetrics metrics = ComponentUtil.getData(ui,
+                InMemoryFormLayoutMetrics.class);
+        if (metrics == null) {
+            metrics = new InMemoryFormLayoutMetrics();
+            ComponentUtil.setData(ui, InMemoryFormLayoutMetrics.class,
+                    metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Gets the metrics aggregated over all the UIs in this JVM.
+     *
+     * @return The JVM wide metrics
+     */
+    public static InMemoryFormLayoutMetrics getJvmTotals() {
+        return JVM_TOTALS;
+    }
+
+    @Override
+    public void itemsAdded(EnhancedFormLayout layout, int count, long nanos) {
+        itemsAdded.add(count);
+        itemsAddedNanos.add(nanos);
+        if (aggregateToJvm) {
+            JVM_TOTALS.itemsAdded(layout, count, nanos);
+        }
+    }
+
+    @Override
+    public void itemsRemoved(EnhancedFormLayout layout, int count) {
+        itemsRemoved.add(count);
+        if (aggregateToJvm) {
+            JVM_TOTALS.itemsRemoved(layout, count);
+        }
+    }
+
+    @Override
+    public void listenersRegistered(EnhancedFormLayout layout, int count) {
+        listenerRegistrations.add(count);
+        if (aggregateToJvm) {
+            JVM_TOTALS.listenersRegistered(layout, count);
+        }
+    }
+
+    @Override
+    public void styleMutated(EnhancedFormLayout layout,
+            StyleMutation mutation) {
+        styleMutations.get(mutation).increment();
+        if (aggregateToJvm) {
+            JVM_TOTALS.styleMutated(layout, mutation);
+        }
+    }
+
+    @Override
+    public void labelReplaced(EnhancedFormLayout layout) {
+        labelReplacements.increment();
+        if (aggregateToJvm) {
+            JVM_TOTALS.labelReplaced(layout);
+        }
+    }
+
+    @Override
+    public void orientationChanged(EnhancedFormLayout layout,
+            FormLayoutOrientation orientation) {
+        orientationChanges.increment();
+        if (aggregateToJvm) {
+            JVM_TOTALS.orientationChanged(layout, orientation);
+        }
+    }
+
+    /**
+     * Gets the number of form items added.
+     *
+     * @return The count
+     */
+    public long getItemsAdded() {
+        return itemsAdded.sum();
+    }
+
+    /**
+     * Gets the total time spent adding form items.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getItemsAddedNanos() {
+        return itemsAddedNanos.sum();
+    }
+
+    /**
+     * Gets the number of form items removed.
+     *
+     * @return The count
+     */
+    public long getItemsRemoved() {
+        return itemsRemoved.sum();
+    }
+
+    /**
+     * Gets the number of field listener registrations.
+     *
+     * @return The count
+     */
+    public long getListenerRegistrations() {
+        return listenerRegistrations.sum();
+    }
+
+    /**
+     * Gets the number of style mutations of the given kind.
+     *
+     * @param mutation
+     *            The kind of the style mutation
+     * @return The count
+     */
+    public long getStyleMutations(StyleMutation mutation) {
+        return styleMutations.get(mutation).sum();
+    }
+
+    /**
+     * Gets the number of form item labels replaced.
+     *
+     * @return The count
+     */
+    public long getLabelReplacements() {
+        return labelReplacements.sum();
+    }
+
+    /**
+     * Gets the number of orientation changes.
+     *
+     * @return The count
+     */
+    public long getOrientationChanges() {
+        return orientationChanges.sum();
+    }
+
+    /**
+     * Resets all the counters of this instance. Resetting a UI instance does
+     * not affect the JVM wide totals.
+     */
+    public void reset() {
+        itemsAdded.reset();
+        itemsAddedNanos.reset();
+        itemsRemoved.reset();
+        listenerRegistrations.reset();
+        labelReplacements.reset();
+        orientationChanges.reset();
+        styleMutations.values().forEach(LongAdder::reset);
+    }
+}
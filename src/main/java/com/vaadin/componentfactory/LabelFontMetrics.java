@@ -0,0 +1,159 @@
+package com.vaadin.componentfactory;
+
+import java.awt.AWTError;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Glyph width table of a font used for estimating label widths on the server,
+ * see {@link EnhancedFormLayout#setAutoLabelWidth(LabelFontMetrics)}. The
+ * widths of the printable ASCII characters are measured once per font with
+ * AWT, which works also in headless mode, and the tables are shared by the
+ * whole application. The widths are in em, so the same table serves all
+ * font sizes of the theme.
+ * <p>
+ * The browser may render the labels with another font than the server has,
+ * so the estimate is approximate. Choose the font closest to the font of the
+ * theme, e.g. the default sans serif font for Lumo.
+ * <p>
+ * If the fonts can't be measured, e.g. in a container without the font
+ * libraries AWT needs, a built-in table of Helvetica widths is used instead.
+ * A table of another font can be given with {@link #forWidths(float[])}.
+ */
+public final class LabelFontMetrics implements Serializable {
+
+    private static final Map<String, LabelFontMetrics> CACHE = new ConcurrentHashMap<>();
+    private static final char FIRST_CHAR = ' ';
+    private static final char LAST_CHAR = '~';
+    private static final int MEASURE_SIZE = 1000;
+    // CJK and other wide scripts start from Hangul Jamo
+    private static final int FIRST_WIDE_CODE_POINT = 0x1100;
+
+    private static final int CHAR_COUNT = LAST_CHAR - FIRST_CHAR + 1;
+    // Helvetica widths of the printable ASCII characters in 1/1000 em
+    private static final short[] BUILT_IN_WIDTHS = { 278, 278, 355, 556, 556,
+            889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278, 556, 556,
+            556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584,
+            556, 1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667,
+            556, 833, 722, 778, 667, 778, 722, 667, 611, 722, 667, 944, 667,
+            667, 611, 278, 278, 278, 469, 556, 333, 556, 556, 500, 556, 556,
+            278, 556, 556, 222, 222, 500, 222, 833, 556, 556, 556, 556, 333,
+            500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584 };
+
+    private final float[] widths;
+    private final float fallbackWidth;
+
+    private LabelFontMetrics(float[] widths) {
+        this.widths = widths;
+        fallbackWidth = widths['n' - FIRST_CHAR];
+    }
+
+    /**
+     * Gets the metrics of the given font, measuring it on the first call.
+     * Falls back to {@link #builtIn()} if the font can't be measured.
+     *
+     * @param family
+     *            Font family name or logical font name, e.g.
+     *            {@link Font#SANS_SERIF}. A font not installed on the server
+     *            falls back to the default font of the JVM.
+     * @param bold
+     *            Whether the labels are bold
+     * @return The metrics of the font
+     */
+    public static LabelFontMetrics forFont(String family, boolean bold) {
+        Objects.requireNonNull(family, "Font family can't be null");
+        return CACHE.computeIfAbsent(family + (bold ? ":bold" : ":plain"),
+                key -> {
+                    try {
+                        return new LabelFontMetrics(measure(family, bold));
+                    } catch (Exception | LinkageError | AWTError
+                            | InternalError e) {
+                        // Missing native libraries or fonts, e.g. no
+                        // fontconfig in a slim container image
+                        return builtIn();
+                    }
+                });
+    }
+
+    private static float[] measure(String family, boolean bold) {
+        Font font = new Font(family, bold ? Font.BOLD : Font.PLAIN,
+                MEASURE_SIZE);
+        FontRenderContext context = new FontRenderContext(null, true, true);
+        float[] widths = new float[CHAR_COUNT];
+        for (char c = FIRST_CHAR; c <= LAST_CHAR; c++) {
+            widths[c - FIRST_CHAR] = (float) (font
+                    .getStringBounds(String.valueOf(c), context).getWidth()
+                    / MEASURE_SIZE);
+        }
+        return widths;
+    }
+
+    /**
+     * Gets the metrics of the built-in width table, which has the widths of
+     * Helvetica and approximates other sans serif fonts. Needs no fonts on
+     * the server.
+     *
+     * @return The metrics of the built-in table
+     */
+    public static LabelFontMetrics builtIn() {
+        float[] widths = new float[CHAR_COUNT];
+        for (int i = 0; i < CHAR_COUNT; i++) {
+            widths[i] = BUILT_IN_WIDTHS[i] / 1000f;
+        }
+        return new LabelFontMetrics(widths);
+    }
+
+    /**
+     * Gets the metrics of the given width table, e.g. one taken from the
+     * font files of the theme.
+     *
+     * @param widths
+     *            Widths in em of the printable ASCII characters, from space
+     *            (32) to tilde (126), i.e. 95 widths
+     * @return The metrics of the table
+     */
+    public static LabelFontMetrics forWidths(float[] widths) {
+        Objects.requireNonNull(widths, "Widths can't be null");
+        if (widths.length != CHAR_COUNT) {
+            throw new IllegalArgumentException(
+                    "Expected " + CHAR_COUNT + " widths");
+        }
+        return new LabelFontMetrics(widths.clone());
+    }
+
+    /**
+     * Gets the metrics of the default sans serif font of the server.
+     *
+     * @return The metrics of the font
+     */
+    public static LabelFontMetrics sansSerif() {
+        return forFont(Font.SANS_SERIF, false);
+    }
+
+    /**
+     * Estimates the width of the given text.
+     *
+     * @param text
+     *            The text
+     * @return The width in em
+     */
+    public double estimateWidth(String text) {
+        double width = 0;
+        for (int i = 0; i < text.length();) {
+            int codePoint = text.codePointAt(i);
+            if (codePoint >= FIRST_CHAR && codePoint <= LAST_CHAR) {
+                width += widths[codePoint - FIRST_CHAR];
+            } else if (codePoint >= FIRST_WIDE_CODE_POINT) {
+                width += 1;
+            } else {
+                width += fallbackWidth;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return width;
+    }
+}
@@ -0,0 +1,178 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+
+/**
+ * Index of the form items of a layout by the words of their labels, and the
+ * filtered state of each form item. A label matches a filter if each word of
+ * the filter is the beginning of some word of the label, ignoring case. The
+ * index is created only when the layout is first filtered, so the form items
+ * carry no filtering state before that.
+ *
+ * @see EnhancedFormLayout#setFilter(String)
+ */
+final class LabelIndex implements Serializable {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern
+            .compile("[^\\p{L}\\p{N}]+");
+
+    private final TreeMap<String, Set<EnhancedFormItem>> formItemsByToken = new TreeMap<>();
+    private final Map<EnhancedFormItem, String[]> tokensByFormItem = new IdentityHashMap<>();
+    private final Set<EnhancedFormItem> filteredOut = Collections
+            .newSetFromMap(new IdentityHashMap<>());
+    private String[] filterTokens = new String[0];
+
+    /**
+     * Indexes the label of the given form item, replacing its previous label
+     * if indexed already.
+     *
+     * @param formItem
+     *            The form item
+     * @param label
+     *            The label text, null if the form item has no text label
+     * @return Whether the filtered state of the form item changed
+     */
+    boolean index(EnhancedFormItem formItem, String label) {
+        boolean wasFilteredOut = remove(formItem);
+        String[] tokens = tokenize(label == null ? "" : label);
+        tokensByFormItem.put(formItem, tokens);
+        for (String token : tokens) {
+            formItemsByToken
+                    .computeIfAbsent(token,
+                            key -> Collections
+                                    .newSetFromMap(new IdentityHashMap<>()))
+                    .add(formItem);
+        }
+        setFilteredOut(formItem, !matchesFilter(tokens));
+        return isFilteredOut(formItem) != wasFilteredOut;
+    }
+
+    /**
+     * Removes the given form item from the index.
+     *
+     * @param formItem
+     *            The form item
+     * @return Whether the form item was filtered out
+     */
+    boolean remove(EnhancedFormItem formItem) {
+        String[] tokens = tokensByFormItem.remove(formItem);
+        if (tokens == null) {
+            return false;
+        }
+        for (String token : tokens) {
+            Set<EnhancedFormItem> formItems = formItemsByToken.get(token);
+            if (formItems != null && formItems.remove(formItem)
+                    && formItems.isEmpty()) {
+                formItemsByToken.remove(token);
+            }
+        }
+        return filteredOut.remove(formItem);
+    }
+
+    /**
+     * Removes the form items not passing the given test, e.g. the ones moved
+     * to another layout.
+     *
+     * @param retained
+     *            Test of the form items to keep
+     */
+    void retain(Predicate<EnhancedFormItem> retained) {
+        new ArrayList<>(tokensByFormItem.keySet()).stream()
+                .filter(retained.negate()).forEach(this::remove);
+    }
+
+    /**
+     * Sets the filter and updates the filtered state of the indexed form
+     * items.
+     *
+     * @param filter
+     *            The filter, empty to match all the form items
+     * @return The form items whose filtered state changed
+     */
+    List<EnhancedFormItem> setFilter(String filter) {
+        filterTokens = tokenize(filter);
+        Set<EnhancedFormItem> matches = null;
+        for (String token : filterTokens) {
+            Set<EnhancedFormItem> tokenMatches = Collections
+                    .newSetFromMap(new IdentityHashMap<>());
+            formItemsByToken.subMap(token, token + Character.MAX_VALUE)
+                    .values().forEach(tokenMatches::addAll);
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                matches.retainAll(tokenMatches);
+            }
+        }
+        List<EnhancedFormItem> changed = new ArrayList<>();
+        for (EnhancedFormItem formItem : tokensByFormItem.keySet()) {
+            if (setFilteredOut(formItem,
+                    matches != null && !matches.contains(formItem))) {
+                changed.add(formItem);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether the given form item is filtered out.
+     *
+     * @param formItem
+     *            The form item
+     * @return A boolean value
+     */
+    boolean isFilteredOut(EnhancedFormItem formItem) {
+        return filteredOut.contains(formItem);
+    }
+
+    /**
+     * Checks whether the given form item is indexed.
+     *
+     * @param formItem
+     *            The form item
+     * @return A boolean value
+     */
+    boolean contains(EnhancedFormItem formItem) {
+        return tokensByFormItem.containsKey(formItem);
+    }
+
+    private boolean setFilteredOut(EnhancedFormItem formItem,
+            boolean filtered) {
+        return filtered ? filteredOut.add(formItem)
+                : filteredOut.remove(formItem);
+    }
+
+    private boolean matchesFilter(String[] labelTokens) {
+        for (String filterToken : filterTokens) {
+            boolean found = false;
+            for (String labelToken : labelTokens) {
+                if (labelToken.startsWith(filterToken)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] tokenize(String text) {
+        return Arrays
+                .stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty()).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,37 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+/**
+ * Resolves localized label texts of form items.
+ *
+ * @see EnhancedFormLayout#relabel(Locale, LabelProvider)
+ */
+@FunctionalInterface
+public interface LabelProvider extends Serializable {
+
+    /**
+     * Gets the label text for the given key and locale.
+     *
+     * @param key
+     *            The label key
+     * @param locale
+     *            The locale
+     * @return The label text, or null to keep the current text
+     */
+    String getLabel(String key, Locale locale);
+
+    /**
+     * Wraps the given provider with a per-locale cache of the resolved label
+     * texts. The returned provider is thread safe, provided that the wrapped
+     * one is, and is meant to be shared by all the UIs.
+     *
+     * @param provider
+     *            The provider to wrap
+     * @return The caching provider
+     */
+    static LabelProvider cached(LabelProvider provider) {
+        return new CachingLabelProvider(provider);
+    }
+}
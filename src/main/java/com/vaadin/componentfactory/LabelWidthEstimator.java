@@ -0,0 +1,84 @@
+package com.vaadin.componentfactory;
+
+import java.io.Serializable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+
+/**
+ * Estimated label widths of the form items of a layout, keeping track of the
+ * widest one. The estimator is created only when the automatic label width
+ * is turned on, so the form items carry no estimates before that.
+ *
+ * @see EnhancedFormLayout#setAutoLabelWidth(LabelFontMetrics)
+ */
+final class LabelWidthEstimator implements Serializable {
+
+    // Room for the required indicator, in em of the label font
+    private static final double PADDING = 1;
+
+    private final LabelFontMetrics fontMetrics;
+    private final Map<EnhancedFormItem, Double> estimates = new IdentityHashMap<>();
+    // Estimated label widths in em with the number of labels of each width
+    private final TreeMap<Double, Integer> labelWidths = new TreeMap<>();
+
+    LabelWidthEstimator(LabelFontMetrics fontMetrics) {
+        this.fontMetrics = fontMetrics;
+    }
+
+    /**
+     * Estimates the width of the label of the given form item, replacing its
+     * previous estimate.
+     *
+     * @param formItem
+     *            The form item
+     * @param label
+     *            The label text, null if the form item has no text label
+     * @return Whether the estimate changed
+     */
+    boolean estimate(EnhancedFormItem formItem, String label) {
+        double width = label != null ? fontMetrics.estimateWidth(label) : 0;
+        Double previous = estimates.put(formItem, width);
+        if (previous != null) {
+            if (previous == width) {
+                return false;
+            }
+            uncount(previous);
+        }
+        labelWidths.merge(width, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Removes the estimate of the given form item.
+     *
+     * @param formItem
+     *            The form item
+     */
+    void remove(EnhancedFormItem formItem) {
+        Double previous = estimates.remove(formItem);
+        if (previous != null) {
+            uncount(previous);
+        }
+    }
+
+    /**
+     * Gets the label width fitting the widest label.
+     *
+     * @return The width as a CSS value, null if there are no labels
+     */
+    String getLabelWidth() {
+        if (labelWidths.isEmpty()) {
+            return null;
+        }
+        // Rounded up to limit the updates to visible changes
+        return Math.ceil((labelWidths.lastKey() + PADDING) * 10) / 10 + "em";
+    }
+
+    private void uncount(double width) {
+        labelWidths.computeIfPresent(width,
+                (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
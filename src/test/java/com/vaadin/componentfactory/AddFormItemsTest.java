@@ -0,0 +1,176 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.change.ListAddChange;
+import com.vaadin.flow.internal.nodefeature.ElementChildrenList;
+
+public class AddFormItemsTest {
+
+    private static final int ITEMS = 500;
+
+    @Test
+    public void addFormItems_sameItemsAsAddFormItem() {
+        EnhancedFormLayout single = new EnhancedFormLayout();
+        addOneByOne(single);
+        EnhancedFormLayout bulk = new EnhancedFormLayout();
+        List<EnhancedFormItem> formItems = bulk.addFormItems(createSpecs());
+
+        assertEquals(ITEMS, formItems.size());
+        assertEquals(labels(single), labels(bulk));
+    }
+
+    @Test
+    public void addFormItems_fewerChangesThanAddFormItem() {
+        int singleAdds = countChildAdds(this::addOneByOne);
+        int bulkAdds = countChildAdds(
+                layout -> layout.addFormItems(createSpecs()));
+
+        assertEquals(ITEMS, singleAdds);
+        assertEquals(1, bulkAdds);
+    }
+
+    @Test
+    public void addFormItems_payloadSmallerThanAddFormItem() {
+        int singlePayload = measurePayload(this::addOneByOne);
+        int bulkPayload = measurePayload(
+                layout -> layout.addFormItems(createSpecs()));
+
+        // Every child add left out saves at least its node id
+        assertTrue(bulkPayload + ITEMS - 1 <= singlePayload);
+    }
+
+    @Test
+    public void addFormItems_childrenAddedInOneChange() {
+        UI ui = new UI();
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        ui.add(layout);
+        UidlPayload.measure(ui);
+
+        layout.addFormItems(createSpecs());
+
+        List<ListAddChange<?>> adds = childAdds(ui, layout);
+        assertEquals(1, adds.size());
+        assertEquals(ITEMS, adds.get(0).getNewItems().size());
+    }
+
+    @Test
+    public void addFormItemsAsync_directExecutorHoldingLock_failsFast()
+            throws InterruptedException {
+        InMemorySession session = new InMemorySession();
+        session.getLockInstance().lock();
+        try {
+            EnhancedFormLayout layout = new EnhancedFormLayout();
+            session.createUI().add(layout);
+            Span placeholder = new Span("Loading");
+
+            CompletableFuture<List<EnhancedFormItem>> result = layout
+                    .addFormItemsAsync(AddFormItemsTest::createSpecs,
+                            Runnable::run, 100, placeholder);
+
+            assertFailedWith(IllegalStateException.class, result);
+            assertFalse(placeholder.getParent().isPresent());
+        } finally {
+            session.getLockInstance().unlock();
+        }
+    }
+
+    @Test
+    public void addFormItemsAsync_uiDetached_completedExceptionally()
+            throws InterruptedException {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        // A UI without a session is detached
+        new UI().add(layout);
+
+        CompletableFuture<List<EnhancedFormItem>> result = layout
+                .addFormItemsAsync(AddFormItemsTest::createSpecs,
+                        Runnable::run, 100, new Span("Loading"));
+
+        assertFailedWith(UIDetachedException.class, result);
+    }
+
+    private static void assertFailedWith(Class<?> exceptionType,
+            CompletableFuture<?> result) throws InterruptedException {
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            assertTrue(exceptionType.isInstance(e.getCause()));
+        }
+    }
+
+    private void addOneByOne(EnhancedFormLayout layout) {
+        for (int i = 0; i < ITEMS; i++) {
+            layout.addFormItem(new TextField(), "Field " + i);
+        }
+    }
+
+    private static List<FormItemSpec> createSpecs() {
+        List<FormItemSpec> specs = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            specs.add(new FormItemSpec(new TextField(), "Field " + i));
+        }
+        return specs;
+    }
+
+    private static int measurePayload(Consumer<EnhancedFormLayout> builder) {
+        UI ui = new UI();
+        UidlPayload.measure(ui);
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        ui.add(layout);
+        builder.accept(layout);
+        return UidlPayload.measure(ui);
+    }
+
+    private static int countChildAdds(Consumer<EnhancedFormLayout> builder) {
+        UI ui = new UI();
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        ui.add(layout);
+        UidlPayload.measure(ui);
+        builder.accept(layout);
+        return childAdds(ui, layout).size();
+    }
+
+    private static List<ListAddChange<?>> childAdds(UI ui,
+            EnhancedFormLayout layout) {
+        StateTree stateTree = ui.getInternals().getStateTree();
+        stateTree.runExecutionsBeforeClientResponse();
+        List<ListAddChange<?>> adds = new ArrayList<>();
+        stateTree.collectChanges(change -> {
+            if (change instanceof ListAddChange
+                    && change.getNode() == layout.getElement().getNode()
+                    && ((ListAddChange<?>) change)
+                            .getFeature() == ElementChildrenList.class) {
+                adds.add((ListAddChange<?>) change);
+            }
+        });
+        return adds;
+    }
+
+    private static List<String> labels(EnhancedFormLayout layout) {
+        return layout.getChildren()
+                .map(child -> child.getElement().getChildren()
+                        .filter(element -> "label"
+                                .equals(element.getAttribute("slot")))
+                        .map(Element::getText).findFirst().orElse(null))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.textfield.TextField;
+
+public class AutoLabelWidthTest {
+
+    private static final String LABEL_WIDTH = "--enhanced-form-item-label-width";
+
+    private EnhancedFormLayout layout;
+    private EnhancedFormItem wide;
+
+    @Before
+    public void setup() {
+        layout = new EnhancedFormLayout();
+        layout.addFormItem(new TextField(), "ii");
+        wide = layout.addFormItem(new TextField(), "mmm");
+        layout.setAutoLabelWidth(LabelFontMetrics.builtIn());
+    }
+
+    @Test
+    public void setAutoLabelWidth_widestLabelUsed() {
+        assertEquals("3.5em", labelWidth());
+    }
+
+    @Test
+    public void widestRemoved_narrowed() {
+        layout.remove(wide);
+
+        assertEquals("1.5em", labelWidth());
+    }
+
+    @Test
+    public void widestRemovedAsCollection_narrowed() {
+        layout.remove(Collections.<Component> singletonList(wide));
+
+        assertEquals("1.5em", labelWidth());
+    }
+
+    @Test
+    public void widestMovedToAnotherLayout_narrowed() {
+        UI ui = new UI();
+        EnhancedFormLayout other = new EnhancedFormLayout();
+        ui.add(layout, other);
+
+        other.add(wide);
+
+        assertEquals("1.5em", labelWidth());
+    }
+
+    @Test
+    public void widestRemovedWithElementApi_narrowedBeforeResponse() {
+        UI ui = new UI();
+        ui.add(layout);
+
+        layout.getElement().removeChild(wide.getElement());
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+
+        assertEquals("1.5em", labelWidth());
+    }
+
+    @Test
+    public void widestRelabelled_narrowed() {
+        wide.setLabel("i");
+
+        assertEquals("1.5em", labelWidth());
+    }
+
+    @Test
+    public void formItemAdded_widened() {
+        layout.addFormItem(new TextField(), "mmmm");
+
+        assertEquals("4.4em", labelWidth());
+    }
+
+    @Test
+    public void setFormItemLabelWidth_estimationOff() {
+        layout.setFormItemLabelWidth(null);
+        layout.addFormItem(new TextField(), "mmmm");
+
+        assertNull(labelWidth());
+    }
+
+    private String labelWidth() {
+        return layout.getElement().getStyle().get(LABEL_WIDTH);
+    }
+}
@@ -0,0 +1,54 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.textfield.TextField;
+
+public class ClientSideRequiredIndicatorTest {
+
+    private static final int ITEMS = 3;
+
+    private EnhancedFormLayout layout;
+    private InMemoryFormLayoutMetrics metrics;
+    private TextField field;
+
+    @Before
+    public void setup() {
+        layout = new EnhancedFormLayout();
+        metrics = new InMemoryFormLayoutMetrics();
+        layout.setMetrics(metrics);
+        layout.setClientSideRequiredIndicator(true);
+        for (int i = 0; i < ITEMS; i++) {
+            field = new TextField();
+            field.setRequiredIndicatorVisible(true);
+            layout.addFormItem(field, "Field " + i);
+        }
+        new UI().add(layout);
+    }
+
+    @Test
+    public void clientSide_noFieldListeners() {
+        assertEquals(0, metrics.getListenerRegistrations());
+    }
+
+    @Test
+    public void clientSide_markClean_listenersForDirtyTracking() {
+        layout.markClean();
+
+        assertEquals(ITEMS, metrics.getListenerRegistrations());
+        field.setValue("value");
+        assertTrue(layout.isDirty());
+    }
+
+    @Test
+    public void serverSide_listenersRegistered() {
+        layout.setClientSideRequiredIndicator(false);
+
+        assertEquals(ITEMS, metrics.getListenerRegistrations());
+    }
+}
@@ -0,0 +1,113 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ColspanPackerTest {
+
+    @Test
+    public void pack_fixedColspans_kept() {
+        int[] colspans = new ColspanPacker().pack(new int[] { 1, 1, 1, 1, 1 },
+                new int[] { 1, 1, 1, 1, 1 }, 4);
+
+        assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, colspans);
+    }
+
+    @Test
+    public void pack_fullRowsWithMinimumColspans() {
+        int[] colspans = new ColspanPacker().pack(new int[] { 1, 2, 1, 3, 1 },
+                new int[] { 2, 3, 2, 3, 4 }, 4);
+
+        assertArrayEquals(new int[] { 1, 2, 1, 3, 1 }, colspans);
+    }
+
+    @Test
+    public void pack_itemsGrowToFillRows() {
+        int[] colspans = new ColspanPacker().pack(
+                new int[] { 1, 2, 1, 3, 1, 1 }, new int[] { 2, 3, 2, 3, 4, 1 },
+                4);
+
+        assertArrayEquals(new int[] { 2, 2, 1, 3, 3, 1 }, colspans);
+    }
+
+    @Test
+    public void pack_nextItemWouldFit_rowNotBroken() {
+        // Each item alone on a row leaves room for the next item only if it
+        // does not grow, so the items must grow to the full row
+        int[] colspans = new ColspanPacker().pack(new int[] { 1, 2, 1 },
+                new int[] { 2, 3, 2 }, 2);
+
+        assertArrayEquals(new int[] { 2, 2, 2 }, colspans);
+    }
+
+    @Test
+    public void pack_rangeWiderThanColumns_clamped() {
+        int[] colspans = new ColspanPacker().pack(new int[] { 3, 1 },
+                new int[] { 5, 1 }, 2);
+
+        assertArrayEquals(new int[] { 2, 1 }, colspans);
+    }
+
+    @Test
+    public void pack_sameItems_cachedResult() {
+        ColspanPacker packer = new ColspanPacker();
+        int[] mins = { 1, 2, 1 };
+        int[] maxs = { 2, 3, 2 };
+
+        int[] colspans = packer.pack(mins, maxs, 3);
+
+        assertSame(colspans, packer.pack(mins.clone(), maxs.clone(), 3));
+    }
+
+    @Test
+    public void pack_otherColumns_cachedPerColumns() {
+        ColspanPacker packer = new ColspanPacker();
+        int[] mins = { 1, 2, 1 };
+        int[] maxs = { 2, 3, 2 };
+
+        int[] twoColumns = packer.pack(mins, maxs, 2);
+        packer.pack(mins, maxs, 4);
+
+        assertSame(twoColumns, packer.pack(mins, maxs, 2));
+    }
+
+    @Test
+    public void pack_appendedAndRemovedItems_sameAsFullPacking() {
+        Random random = new Random(42);
+        ColspanPacker packer = new ColspanPacker();
+        int[] mins = new int[0];
+        int[] maxs = new int[0];
+        for (int step = 0; step < 500; step++) {
+            int length = mins.length;
+            int change = random.nextInt(4);
+            if (change == 0 && length > 0) {
+                // Remove the last item
+                length--;
+                mins = Arrays.copyOf(mins, length);
+                maxs = Arrays.copyOf(maxs, length);
+            } else if (change == 1 && length > 0) {
+                // Change an item in the middle
+                int index = random.nextInt(length);
+                mins = mins.clone();
+                maxs = maxs.clone();
+                mins[index] = 1 + random.nextInt(3);
+                maxs[index] = mins[index] + random.nextInt(3);
+            } else {
+                // Append an item
+                mins = Arrays.copyOf(mins, length + 1);
+                maxs = Arrays.copyOf(maxs, length + 1);
+                mins[length] = 1 + random.nextInt(3);
+                maxs[length] = mins[length] + random.nextInt(3);
+            }
+            int columns = 2 + random.nextInt(3);
+
+            assertArrayEquals(new ColspanPacker().pack(mins, maxs, columns),
+                    packer.pack(mins, maxs, columns));
+        }
+    }
+}
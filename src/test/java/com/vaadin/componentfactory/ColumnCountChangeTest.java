@@ -0,0 +1,99 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import com.vaadin.flow.shared.Registration;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class ColumnCountChangeTest {
+
+    private UI ui;
+    private EnhancedFormLayout layout;
+    private final List<ColumnCountChangeEvent> events = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        ui = new UI();
+        layout = new EnhancedFormLayout();
+        ui.add(layout);
+    }
+
+    @Test
+    public void columnsReported_eventFired() {
+        layout.addColumnCountChangeListener(events::add);
+        assertTrue(executedJs().contains("new ResizeObserver"));
+
+        reportColumns(2);
+        reportColumns(2);
+        reportColumns(1);
+
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(0).getColumns());
+        assertEquals(0, events.get(0).getPreviousColumns());
+        assertEquals(1, events.get(1).getColumns());
+        assertEquals(2, events.get(1).getPreviousColumns());
+        assertEquals(1, layout.getCurrentColumns());
+    }
+
+    @Test
+    public void lastListenerRemoved_observerRemoved() {
+        Registration first = layout.addColumnCountChangeListener(events::add);
+        Registration second = layout
+                .addColumnCountChangeListener(events::add);
+        reportColumns(2);
+        executedJs();
+
+        first.remove();
+        assertFalse(executedJs().contains("disconnect"));
+        second.remove();
+
+        assertTrue(executedJs().contains("_efResizeObserver.disconnect"));
+        assertEquals(0, layout.getCurrentColumns());
+        reportColumns(1);
+        assertEquals(0, layout.getCurrentColumns());
+    }
+
+    @Test
+    public void listenerAddedAgain_observerInstalled() {
+        layout.addColumnCountChangeListener(events::add).remove();
+        executedJs();
+
+        layout.addColumnCountChangeListener(events::add);
+        reportColumns(2);
+
+        assertTrue(executedJs().contains("new ResizeObserver"));
+        assertEquals(1, events.size());
+    }
+
+    private void reportColumns(int columns) {
+        JsonObject eventData = Json.createObject();
+        eventData.put("event.detail.columns", columns);
+        layout.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(layout.getElement(),
+                        "enhanced-form-layout-columns", eventData));
+    }
+
+    private String executedJs() {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        StringBuilder js = new StringBuilder();
+        for (PendingJavaScriptInvocation invocation : ui.getInternals()
+                .dumpPendingJavaScriptInvocations()) {
+            js.append(invocation.getInvocation().getExpression());
+        }
+        return js.toString();
+    }
+}
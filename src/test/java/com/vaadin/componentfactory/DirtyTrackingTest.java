@@ -0,0 +1,243 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Label;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.binder.Binder;
+
+public class DirtyTrackingTest {
+
+    private UI ui;
+    private EnhancedFormLayout layout;
+    private TextField field;
+
+    @Before
+    public void setup() {
+        ui = new UI();
+        layout = new EnhancedFormLayout();
+        field = new TextField();
+        layout.addFormItem(field, "Field");
+        layout.addFormItem(new TextField(), "Other");
+        ui.add(layout);
+    }
+
+    @Test
+    public void markClean_notDirty() {
+        layout.markClean();
+
+        assertFalse(layout.isDirty());
+        assertTrue(layout.getDirtyItems().isEmpty());
+    }
+
+    @Test
+    public void valueChanged_dirty() {
+        layout.markClean();
+
+        field.setValue("value");
+
+        assertTrue(layout.isDirty());
+        assertEquals(1, layout.getDirtyItems().size());
+    }
+
+    @Test
+    public void valueRestored_clean() {
+        layout.markClean();
+
+        field.setValue("value");
+        field.setValue("");
+
+        assertFalse(layout.isDirty());
+    }
+
+    @Test
+    public void valueChangedWhileDetached_dirtyAfterAttach() {
+        layout.markClean();
+        ui.remove(layout);
+
+        field.setValue("value");
+        ui.add(layout);
+
+        assertTrue(layout.isDirty());
+    }
+
+    @Test
+    public void dirtyStateChange_firedOncePerRoundTrip() {
+        layout.markClean();
+        respond();
+        List<DirtyStateChangeEvent> events = new ArrayList<>();
+        layout.addDirtyStateChangeListener(events::add);
+
+        field.setValue("value");
+        field.setValue("");
+        field.setValue("other");
+        assertTrue(events.isEmpty());
+        respond();
+
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isDirty());
+        respond();
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void dirtyStateChange_restoredInSameRoundTrip_notFired() {
+        layout.markClean();
+        respond();
+        List<DirtyStateChangeEvent> events = new ArrayList<>();
+        layout.addDirtyStateChangeListener(events::add);
+
+        field.setValue("value");
+        field.setValue("");
+        respond();
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void dirtyStateChange_notAttached_firedImmediately() {
+        layout.markClean();
+        field.setValue("value");
+        respond();
+        ui.remove(layout);
+        UI.setCurrent(null);
+        List<DirtyStateChangeEvent> events = new ArrayList<>();
+        layout.addDirtyStateChangeListener(events::add);
+
+        layout.markClean();
+
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).isDirty());
+    }
+
+    @Test
+    public void bindRequiredIndicators_unboundField_dirty() {
+        layout.bindRequiredIndicators(new Binder<>());
+        layout.markClean();
+
+        field.setValue("value");
+
+        assertTrue(layout.isDirty());
+    }
+
+    @Test
+    public void bindRequiredIndicators_sharedBinder_otherLayoutClean() {
+        Binder<Object> binder = new Binder<>();
+        binder.forField(field).bind(bean -> "", (bean, value) -> {
+        });
+        EnhancedFormLayout other = new EnhancedFormLayout();
+        TextField otherField = new TextField();
+        binder.forField(otherField).bind(bean -> "", (bean, value) -> {
+        });
+        other.addFormItem(otherField, "Other field");
+        ui.add(other);
+        layout.bindRequiredIndicators(binder);
+        other.bindRequiredIndicators(binder);
+        layout.markClean();
+        other.markClean();
+
+        otherField.setValue("value");
+        otherField.setValue("other");
+
+        assertFalse(layout.isDirty());
+        assertTrue(other.isDirty());
+    }
+
+    @Test
+    public void dirtyItemRemoved_clean() {
+        layout.markClean();
+        field.setValue("value");
+
+        layout.remove(layout.getDirtyItems().get(0));
+
+        assertFalse(layout.isDirty());
+    }
+
+    @Test
+    public void dirtyItemRemovedAsCollection_clean() {
+        layout.markClean();
+        field.setValue("value");
+
+        layout.remove(Collections
+                .<Component> singletonList(layout.getDirtyItems().get(0)));
+
+        assertFalse(layout.isDirty());
+    }
+
+    @Test
+    public void dirtyItemRemovedWithElementApi_clean() {
+        layout.markClean();
+        field.setValue("value");
+
+        layout.getElement()
+                .removeChild(layout.getDirtyItems().get(0).getElement());
+
+        assertFalse(layout.isDirty());
+        assertTrue(layout.getDirtyItems().isEmpty());
+    }
+
+    @Test
+    public void dirtyItemMovedToAnotherLayout_clean() {
+        EnhancedFormLayout other = new EnhancedFormLayout();
+        ui.add(other);
+        layout.markClean();
+        field.setValue("value");
+
+        other.add(layout.getDirtyItems().get(0));
+
+        assertFalse(layout.isDirty());
+    }
+
+    @Test
+    public void dirtyItemMovedWithinLayout_dirty() {
+        layout.markClean();
+        field.setValue("value");
+        EnhancedFormItem formItem = layout.getDirtyItems().get(0);
+
+        layout.add(formItem);
+
+        assertTrue(layout.isDirty());
+        assertEquals(formItem, layout.getDirtyItems().get(0));
+    }
+
+    @Test
+    public void manyItemsRemoved_slotsReclaimed() {
+        DirtyTracker tracker = new DirtyTracker();
+        List<EnhancedFormItem> kept = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            EnhancedFormItem removed = new EnhancedFormItem(new TextField(),
+                    new Label());
+            tracker.update(removed, "");
+            tracker.update(removed, "changed");
+            tracker.untrack(removed);
+            if (i % 100 == 0) {
+                EnhancedFormItem formItem = new EnhancedFormItem(
+                        new TextField(), new Label());
+                tracker.update(formItem, "");
+                tracker.update(formItem, "changed");
+                kept.add(formItem);
+            }
+        }
+
+        assertTrue(tracker.size() < 2 * kept.size() + 16);
+        assertEquals(kept, tracker.getDirtyItems());
+        tracker.update(kept.get(0), "");
+        assertEquals(kept.subList(1, kept.size()), tracker.getDirtyItems());
+    }
+
+    private void respond() {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class FilterTest {
+
+    private EnhancedFormLayout layout;
+    private EnhancedFormItem firstName;
+    private EnhancedFormItem lastName;
+    private EnhancedFormItem email;
+
+    @Before
+    public void setup() {
+        layout = new EnhancedFormLayout();
+        firstName = layout.addFormItem(new TextField(), "First name");
+        lastName = layout.addFormItem(new TextField(), "Last name");
+        email = layout.addFormItem(new TextField(), "E-mail");
+    }
+
+    @Test
+    public void setFilter_nonMatchingFiltered() {
+        layout.setFilter("name");
+
+        assertFalse(isFiltered(firstName));
+        assertFalse(isFiltered(lastName));
+        assertTrue(isFiltered(email));
+    }
+
+    @Test
+    public void setFilter_wordPrefixes_allMustMatch() {
+        layout.setFilter("la na");
+
+        assertTrue(isFiltered(firstName));
+        assertFalse(isFiltered(lastName));
+    }
+
+    @Test
+    public void setFilter_cleared_allShown() {
+        layout.setFilter("mail");
+
+        layout.setFilter(null);
+
+        assertFalse(isFiltered(firstName));
+        assertFalse(isFiltered(email));
+    }
+
+    @Test
+    public void labelChanged_filterReapplied() {
+        layout.setFilter("name");
+
+        email.setLabel("Nickname");
+
+        assertTrue(isFiltered(email));
+        email.setLabel("Name");
+        assertFalse(isFiltered(email));
+    }
+
+    @Test
+    public void removed_filteredAttributeCleared() {
+        layout.setFilter("name");
+
+        layout.remove(email);
+
+        assertFalse(isFiltered(email));
+    }
+
+    @Test
+    public void movedToAnotherLayout_unindexed() {
+        UI ui = new UI();
+        EnhancedFormLayout other = new EnhancedFormLayout();
+        ui.add(layout, other);
+        layout.setFilter("name");
+
+        other.add(email);
+        layout.setFilter("nothing");
+
+        assertFalse(isFiltered(email));
+        assertTrue(isFiltered(firstName));
+    }
+
+    @Test
+    public void colspanPacking_filteredItemsSkipped() {
+        layout.remove(email);
+        layout.setColspanPacking(true);
+        layout.setColspanRange(firstName, 1, 2);
+        layout.setColspanRange(lastName, 1, 2);
+        reportColumns(2);
+        assertEquals(1, layout.getColspan(firstName));
+
+        layout.setFilter("first");
+
+        assertEquals(2, layout.getColspan(firstName));
+    }
+
+    @Test
+    public void index_relabeled_changedOnlyIfFilteredStateChanged() {
+        LabelIndex index = new LabelIndex();
+        index.index(email, "E-mail");
+        index.setFilter("name");
+
+        assertFalse(index.index(email, "Phone"));
+        assertTrue(index.isFilteredOut(email));
+        assertTrue(index.index(email, "Nick name"));
+        assertFalse(index.isFilteredOut(email));
+        assertFalse(index.index(email, "Name"));
+    }
+
+    private void reportColumns(int columns) {
+        JsonObject eventData = Json.createObject();
+        eventData.put("event.detail.columns", columns);
+        layout.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(layout.getElement(),
+                        "enhanced-form-layout-columns", eventData));
+    }
+
+    private static boolean isFiltered(EnhancedFormItem formItem) {
+        return formItem.getElement().hasAttribute("filtered");
+    }
+}
@@ -0,0 +1,191 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Label;
+import com.vaadin.flow.component.textfield.TextField;
+
+public class FormItemPoolTest {
+
+    private EnhancedFormLayout layout;
+    private FormItemPool pool;
+
+    @Before
+    public void setup() {
+        layout = new EnhancedFormLayout();
+        pool = new FormItemPool();
+        layout.setFormItemPool(pool);
+    }
+
+    @Test
+    public void removed_reused() {
+        TextField field = addPooled("First");
+        EnhancedFormItem formItem = formItemOf(field);
+
+        layout.remove(formItem);
+        assertEquals(1, pool.size());
+        TextField reused = addPooled("Second");
+
+        assertSame(field, reused);
+        assertSame(formItem, formItemOf(reused));
+        assertEquals(0, pool.size());
+        assertEquals("Second", labelOf(formItem));
+    }
+
+    @Test
+    public void removedAsCollection_reused() {
+        TextField field = addPooled("First");
+
+        layout.remove(Collections.<Component> singletonList(formItemOf(field)));
+
+        assertSame(field, addPooled("Second"));
+    }
+
+    @Test
+    public void reused_reset() {
+        TextField field = addPooled("First");
+        EnhancedFormItem formItem = formItemOf(field);
+        field.setValue("value");
+        field.setRequiredIndicatorVisible(true);
+        formItem.setLabelWidth("10em").setRowSpacing("1em")
+                .setRightAligned(true).setBottomAligned(true);
+        formItem.setVisible(false);
+        layout.setColspan(formItem, 2);
+        formItem.setLabelKey("key");
+
+        layout.remove(formItem);
+        addPooled("Second");
+
+        assertEquals("", field.getValue());
+        assertFalse(field.isRequiredIndicatorVisible());
+        assertTrue(formItem.isVisible());
+        assertFalse(formItem.getElement().getThemeList()
+                .contains("right-aligned"));
+        assertNull(formItem.getElement().getStyle()
+                .get("--vaadin-form-item-label-width"));
+        assertNull(formItem.getElement().getStyle()
+                .get("--vaadin-form-item-row-spacing"));
+        assertNull(formItem.getElement().getStyle().get("align-self"));
+        assertFalse(formItem.getElement().hasAttribute("colspan"));
+        assertNull(formItem.getLabelKey());
+    }
+
+    @Test
+    public void otherFieldType_notReused() {
+        TextField field = addPooled("First");
+        layout.remove(formItemOf(field));
+
+        layout.addPooledFormItem(Label.class, Label::new, "Second");
+
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void removedAndAddedBack_takenOutOfPool() {
+        TextField field = addPooled("First");
+        EnhancedFormItem formItem = formItemOf(field);
+        layout.remove(formItem);
+
+        layout.add(formItem);
+
+        assertEquals(0, pool.size());
+        assertNotSame(field, addPooled("Second"));
+        assertSame(layout, formItem.getParent().orElse(null));
+    }
+
+    @Test
+    public void movedToAnotherLayout_notPooled() {
+        UI ui = new UI();
+        EnhancedFormLayout other = new EnhancedFormLayout();
+        ui.add(layout, other);
+        EnhancedFormItem formItem = formItemOf(addPooled("First"));
+
+        other.add(formItem);
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void full_leastRecentlyReleasedDropped() {
+        pool = new FormItemPool(1, Duration.ofMinutes(1));
+        layout.setFormItemPool(pool);
+        TextField first = addPooled("First");
+        TextField second = addPooled("Second");
+
+        layout.remove(formItemOf(first), formItemOf(second));
+
+        assertEquals(1, pool.size());
+        assertSame(second, addPooled("Third"));
+    }
+
+    @Test
+    public void idle_dropped() throws InterruptedException {
+        pool = new FormItemPool(10, Duration.ofNanos(1));
+        layout.setFormItemPool(pool);
+        TextField field = addPooled("First");
+        layout.remove(formItemOf(field));
+        Thread.sleep(1);
+
+        assertNotSame(field, addPooled("Second"));
+    }
+
+    @Test
+    public void evictIdle_idleDropped() throws InterruptedException {
+        pool = new FormItemPool(10, Duration.ofNanos(1));
+        layout.setFormItemPool(pool);
+        layout.remove(formItemOf(addPooled("First")));
+        Thread.sleep(1);
+
+        pool.evictIdle();
+
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void evictIdle_recentKept() {
+        layout.remove(formItemOf(addPooled("First")));
+
+        pool.evictIdle();
+
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void clear_empty() {
+        layout.remove(formItemOf(addPooled("First")));
+
+        pool.clear();
+
+        assertEquals(0, pool.size());
+    }
+
+    private TextField addPooled(String label) {
+        return layout.addPooledFormItem(TextField.class, TextField::new,
+                label);
+    }
+
+    private static EnhancedFormItem formItemOf(Component field) {
+        return (EnhancedFormItem) field.getParent().get();
+    }
+
+    private static String labelOf(EnhancedFormItem formItem) {
+        return formItem.getElement().getChildren()
+                .filter(child -> "label".equals(child.getAttribute("slot")))
+                .findFirst().map(child -> child.getText()).orElse(null);
+    }
+}
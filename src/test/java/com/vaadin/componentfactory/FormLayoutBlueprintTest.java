@@ -0,0 +1,60 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep;
+import com.vaadin.flow.component.textfield.TextField;
+
+public class FormLayoutBlueprintTest {
+
+    @Test
+    public void createLayout_responsiveStepsNotShared() {
+        FormLayoutBlueprint blueprint = FormLayoutBlueprint.builder()
+                .withResponsiveSteps(new ResponsiveStep("0", 1),
+                        new ResponsiveStep("20em", 2))
+                .addItem("name", "Name").build();
+
+        EnhancedFormLayout first = blueprint
+                .createLayout(key -> new TextField());
+        EnhancedFormLayout second = blueprint
+                .createLayout(key -> new TextField());
+
+        assertNotSame(first.getElement().getPropertyRaw("responsiveSteps"),
+                second.getElement().getPropertyRaw("responsiveSteps"));
+        assertEquals(2, second.getResponsiveSteps().size());
+    }
+
+    @Test
+    public void createLayout_overridesMatchingDefaultsNotSet() {
+        FormLayoutBlueprint blueprint = FormLayoutBlueprint.builder()
+                .withFormItemLabelWidth("10em").withFormItemRowSpacing("1em")
+                .addItem(FormLayoutBlueprint.item("name", "Name")
+                        .withLabelWidth("10em").withRowSpacing("1em"))
+                .addItem(FormLayoutBlueprint.item("email", "E-mail")
+                        .withLabelWidth("12em"))
+                .build();
+
+        EnhancedFormLayout layout = blueprint
+                .createLayout(key -> new TextField());
+        List<EnhancedFormItem> formItems = layout.getChildren()
+                .map(EnhancedFormItem.class::cast)
+                .collect(Collectors.toList());
+        EnhancedFormItem name = formItems.get(0);
+        EnhancedFormItem email = formItems.get(1);
+
+        assertNull(name.getElement().getStyle()
+                .get("--vaadin-form-item-label-width"));
+        assertNull(name.getElement().getStyle()
+                .get("--vaadin-form-item-row-spacing"));
+        assertEquals("12em", email.getElement().getStyle()
+                .get("--vaadin-form-item-label-width"));
+    }
+}
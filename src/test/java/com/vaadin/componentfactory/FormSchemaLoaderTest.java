@@ -0,0 +1,111 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FormSchemaLoaderTest {
+
+    private static final String NAME_FORM = "{\"fields\": [{\"key\": \"name\"}]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void load_unmodified_cached() throws IOException {
+        FormSchemaLoader loader = new FormSchemaLoader();
+        Path file = write("form.json", NAME_FORM);
+
+        assertSame(loader.load(file), loader.load(file));
+    }
+
+    @Test
+    public void load_modified_compiledAgain() throws IOException {
+        FormSchemaLoader loader = new FormSchemaLoader();
+        Path file = write("form.json", NAME_FORM);
+        FormLayoutBlueprint blueprint = loader.load(file);
+
+        Files.write(file, ("{\"fields\": [{\"key\": \"name\"}, "
+                + "{\"key\": \"email\"}]}").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(
+                Files.getLastModifiedTime(file).toMillis() + 1000));
+        FormLayoutBlueprint reloaded = loader.load(file);
+
+        assertNotSame(blueprint, reloaded);
+        assertEquals(2, reloaded.getItems().size());
+    }
+
+    @Test
+    public void load_full_leastRecentlyUsedEvicted() throws IOException {
+        FormSchemaLoader loader = new FormSchemaLoader(2);
+        Path first = write("first.json", NAME_FORM);
+        Path second = write("second.json", NAME_FORM);
+        FormLayoutBlueprint firstBlueprint = loader.load(first);
+        FormLayoutBlueprint secondBlueprint = loader.load(second);
+
+        loader.load(first);
+        loader.load(write("third.json", NAME_FORM));
+
+        assertSame(firstBlueprint, loader.load(first));
+        assertNotSame(secondBlueprint, loader.load(second));
+    }
+
+    @Test
+    public void compile_invalidJson_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FormSchemaLoader.compile("{\"fields\": ["));
+    }
+
+    @Test
+    public void compile_notObject_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FormSchemaLoader.compile("[]"));
+    }
+
+    @Test
+    public void compile_missingKey_throwsNamingKey() {
+        assertInvalid("fields[1].key",
+                "{\"fields\": [{\"key\": \"name\"}, {\"label\": \"E-mail\"}]}");
+    }
+
+    @Test
+    public void compile_wrongType_throwsNamingKey() {
+        assertInvalid("labelWidth", "{\"labelWidth\": 10}");
+        assertInvalid("responsiveSteps[0].columns",
+                "{\"responsiveSteps\": [{\"minWidth\": \"0\", "
+                        + "\"columns\": \"2\"}]}");
+        assertInvalid("fields[0]", "{\"fields\": [\"name\"]}");
+    }
+
+    @Test
+    public void compile_invalidValue_throwsNamingKey() {
+        assertInvalid("orientation", "{\"orientation\": \"diagonal\"}");
+        assertInvalid("fields[0].colspan",
+                "{\"fields\": [{\"key\": \"name\", \"colspan\": 0}]}");
+    }
+
+    private static void assertInvalid(String key, String json) {
+        IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class,
+                () -> FormSchemaLoader.compile(json));
+        assertTrue(e.getMessage(), e.getMessage().contains(key));
+    }
+
+    private Path write(String name, String json) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,153 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Text;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class FormSectionTest {
+
+    private EnhancedFormLayout layout;
+    private FormSection section;
+    private Span after;
+
+    @Before
+    public void setup() {
+        layout = new EnhancedFormLayout();
+        section = layout.addSection("Section");
+        after = new Span();
+        layout.add(after);
+    }
+
+    @Test
+    public void addLazyFormItem_addedAfterPreviousItem() {
+        EnhancedFormItem first = section.addLazyFormItem(TextField::new, "1");
+        EnhancedFormItem second = section.addLazyFormItem(TextField::new,
+                "2");
+
+        assertChildren(section, first, second, after);
+    }
+
+    @Test
+    public void addLazyFormItem_lastItemRemoved_addedAfterRemaining() {
+        EnhancedFormItem first = section.addLazyFormItem(TextField::new, "1");
+        EnhancedFormItem second = section.addLazyFormItem(TextField::new,
+                "2");
+        layout.remove(second);
+
+        EnhancedFormItem third = section.addLazyFormItem(TextField::new, "3");
+
+        assertChildren(section, first, third, after);
+        assertEquals(Arrays.asList(first, third), section.getFormItems());
+    }
+
+    @Test
+    public void addLazyFormItem_allItemsRemoved_addedAfterHeader() {
+        EnhancedFormItem first = section.addLazyFormItem(TextField::new, "1");
+        layout.remove(first);
+
+        EnhancedFormItem second = section.addLazyFormItem(TextField::new,
+                "2");
+
+        assertChildren(section, second, after);
+    }
+
+    @Test
+    public void setExpanded_removedItemNotShown() {
+        EnhancedFormItem first = section.addLazyFormItem(TextField::new, "1");
+        layout.remove(first);
+
+        section.setExpanded(true);
+
+        assertFalse(first.isVisible());
+        assertEquals(0, section.getFormItems().size());
+    }
+
+    @Test
+    public void setExpanded_lazyFieldsCreatedOnFirstExpandOnly() {
+        new UI().add(layout);
+        AtomicInteger created = new AtomicInteger();
+        section.addLazyFormItem(() -> {
+            created.incrementAndGet();
+            return new TextField();
+        }, "1");
+        assertEquals(0, created.get());
+
+        section.setExpanded(true);
+        section.setExpanded(false);
+        section.setExpanded(true);
+
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void setReadOnly_collapsed_lazyFieldCreatedOnExpand() {
+        new UI().add(layout);
+        AtomicInteger created = new AtomicInteger();
+        EnhancedFormItem formItem = section.addLazyFormItem(() -> {
+            created.incrementAndGet();
+            return new TextField("", "value", "");
+        }, "1");
+
+        layout.setReadOnly(true);
+        assertEquals(0, created.get());
+
+        section.setExpanded(true);
+        assertEquals(1, created.get());
+        assertEquals("value",
+                formItem.getChildren().filter(child -> child instanceof Text)
+                        .map(child -> ((Text) child).getText()).findFirst()
+                        .orElse(null));
+    }
+
+    @Test
+    public void header_focusable() {
+        assertEquals("0", section.getElement().getAttribute("tabindex"));
+        assertEquals("false",
+                section.getElement().getAttribute("aria-expanded"));
+    }
+
+    @Test
+    public void activationKey_toggles() {
+        pressActivationKey();
+        assertTrue(section.isExpanded());
+        assertEquals("true",
+                section.getElement().getAttribute("aria-expanded"));
+
+        pressActivationKey();
+        assertFalse(section.isExpanded());
+    }
+
+    private void pressActivationKey() {
+        JsonObject eventData = Json.createObject();
+        eventData.put(FormSection.ACTIVATION_KEY_FILTER, true);
+        section.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(section.getElement(), "keydown",
+                        eventData));
+    }
+
+    private void assertChildren(Component... expected) {
+        List<Component> children = layout.getChildren()
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(expected), children);
+    }
+}
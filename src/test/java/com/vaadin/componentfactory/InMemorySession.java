@@ -0,0 +1,38 @@
+package com.vaadin.componentfactory;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Session living only in memory, without a service, servlet or browser. The
+ * lock is taken and released directly, as releasing it through
+ * {@link VaadinSession#unlock()} would need the service for running the
+ * pending access tasks.
+ */
+class InMemorySession extends VaadinSession {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    InMemorySession() {
+        super(null);
+    }
+
+    @Override
+    public Lock getLockInstance() {
+        return lock;
+    }
+
+    /**
+     * Creates a UI of this session. The lock of the session must be held.
+     *
+     * @return The UI
+     */
+    UI createUI() {
+        UI ui = new UI();
+        ui.getInternals().setSession(this);
+        return ui;
+    }
+}
@@ -0,0 +1,58 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class LabelFontMetricsTest {
+
+    private static final double DELTA = 1e-6;
+
+    @Test
+    public void builtIn_asciiWidths() {
+        LabelFontMetrics metrics = LabelFontMetrics.builtIn();
+
+        assertEquals(0.556 + 0.222 + 0.833, metrics.estimateWidth("nim"),
+                DELTA);
+    }
+
+    @Test
+    public void builtIn_wideCharacter_oneEm() {
+        assertEquals(1, LabelFontMetrics.builtIn().estimateWidth("名"),
+                DELTA);
+    }
+
+    @Test
+    public void builtIn_otherCharacter_widthOfN() {
+        assertEquals(0.556, LabelFontMetrics.builtIn().estimateWidth("é"),
+                DELTA);
+    }
+
+    @Test
+    public void forWidths_tableUsed() {
+        float[] widths = new float[95];
+        Arrays.fill(widths, 0.5f);
+
+        LabelFontMetrics metrics = LabelFontMetrics.forWidths(widths);
+        widths[0] = 1;
+
+        assertEquals(1.5, metrics.estimateWidth("a b"), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void forWidths_wrongLength_throws() {
+        LabelFontMetrics.forWidths(new float[10]);
+    }
+
+    @Test
+    public void forFont_measuredOrBuiltIn() {
+        LabelFontMetrics metrics = LabelFontMetrics.forFont("SansSerif",
+                false);
+
+        assertTrue(metrics.estimateWidth("Label") > 0);
+        assertTrue(metrics == LabelFontMetrics.forFont("SansSerif", false));
+    }
+}
@@ -0,0 +1,175 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.AbstractField.ComponentValueChangeEvent;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+
+/**
+ * Builds and removes form items repeatedly and checks that no listeners are
+ * left on the fields and that the layout does not grow, so removed form
+ * items are not kept reachable. The repeated cycles run only with the
+ * system property {@code loadTests} set to true, e.g.
+ * {@code mvn test -Dtest=ListenerLeakTest -DloadTests=true}.
+ */
+public class ListenerLeakTest {
+
+    private static final int CYCLES = 10000;
+    // Slack for the state tree bookkeeping, far less than one form item
+    private static final long RETAINED_SLACK = 2048;
+
+    private UI ui;
+    private EnhancedFormLayout layout;
+    // Listeners the field registers itself
+    private int ownListeners;
+    private int ownRequiredListeners;
+
+    @Before
+    public void setup() throws ReflectiveOperationException {
+        layout = new EnhancedFormLayout();
+        ui = new UI();
+        ui.add(layout);
+        TextField field = new TextField();
+        ownListeners = listenerCount(field);
+        ownRequiredListeners = requiredListenerCount(field);
+    }
+
+    @Test
+    public void addAndRemove_noListenersLeft()
+            throws ReflectiveOperationException {
+        assumeLoadTests();
+        List<TextField> fields = new ArrayList<>(CYCLES);
+        for (int i = 0; i < CYCLES; i++) {
+            TextField field = new TextField();
+            fields.add(field);
+            EnhancedFormItem formItem = layout.addFormItem(field, "Field");
+            layout.remove(formItem);
+        }
+
+        assertEquals(0, layout.getChildren().count());
+        for (TextField field : fields) {
+            assertEquals(ownListeners, listenerCount(field));
+            assertEquals(ownRequiredListeners, requiredListenerCount(field));
+        }
+    }
+
+    @Test
+    public void addAndRemove_retainedHeapNotGrowing() {
+        assumeLoadTests();
+        layout.remove(layout.addFormItem(new TextField(), "Field"));
+        UidlPayload.measure(ui);
+        long before = GraphLayout.parseInstance(ui).totalSize();
+        for (int i = 0; i < CYCLES; i++) {
+            layout.remove(layout.addFormItem(new TextField(), "Field"));
+        }
+        UidlPayload.measure(ui);
+        long after = GraphLayout.parseInstance(ui).totalSize();
+
+        assertTrue("UI grew by " + (after - before) + " bytes",
+                after - before < RETAINED_SLACK);
+    }
+
+    @Test
+    public void deserializedAndReattached_noListenersLeft()
+            throws Exception {
+        layout.addFormItem(new TextField(), "Field");
+
+        UI copy = Replication.replicate(ui);
+        EnhancedFormLayout copiedLayout = (EnhancedFormLayout) copy
+                .getChildren().findFirst().get();
+        EnhancedFormItem formItem = (EnhancedFormItem) copiedLayout
+                .getChildren().findFirst().get();
+        TextField field = (TextField) formItem.getChildren()
+                .filter(child -> child instanceof TextField).findFirst()
+                .get();
+        assertEquals(ownListeners + 1, listenerCount(field));
+        assertEquals(ownRequiredListeners + 1, requiredListenerCount(field));
+
+        copiedLayout.remove(formItem);
+        assertEquals(ownListeners, listenerCount(field));
+        assertEquals(ownRequiredListeners, requiredListenerCount(field));
+
+        for (int i = 0; i < 3; i++) {
+            copiedLayout.add(formItem);
+            copiedLayout.remove(formItem);
+        }
+        copiedLayout.add(formItem);
+        assertEquals(ownListeners + 1, listenerCount(field));
+        assertEquals(ownRequiredListeners + 1, requiredListenerCount(field));
+    }
+
+    @Test
+    public void reattach_singleListenerWhileAttached() {
+        assumeLoadTests();
+        TextField field = new TextField();
+        EnhancedFormItem formItem = layout.addFormItem(field, "Field");
+        for (int i = 0; i < CYCLES; i++) {
+            layout.remove(formItem);
+            layout.add(formItem);
+        }
+
+        assertEquals(ownListeners + 1, listenerCount(field));
+        layout.remove(formItem);
+        assertEquals(ownListeners, listenerCount(field));
+    }
+
+    @Test
+    public void removeAll_noListenersLeft() {
+        assumeLoadTests();
+        List<TextField> fields = new ArrayList<>(CYCLES);
+        for (int i = 0; i < CYCLES; i++) {
+            TextField field = new TextField();
+            fields.add(field);
+            layout.addFormItem(field, "Field");
+            if (i % 100 == 99) {
+                layout.removeAll();
+            }
+        }
+
+        for (TextField field : fields) {
+            assertEquals(ownListeners, listenerCount(field));
+        }
+    }
+
+    private static void assumeLoadTests() {
+        Assume.assumeTrue(Boolean.getBoolean("loadTests"));
+    }
+
+    private static int listenerCount(TextField field) {
+        return ComponentUtil
+                .getListeners(field, ComponentValueChangeEvent.class).size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int requiredListenerCount(TextField field)
+            throws ReflectiveOperationException {
+        // Flow has no API for the property change listeners of an element
+        ElementPropertyMap properties = field.getElement().getNode()
+                .getFeature(ElementPropertyMap.class);
+        Field listeners = ElementPropertyMap.class
+                .getDeclaredField("listeners");
+        listeners.setAccessible(true);
+        Map<String, List<?>> listenersByProperty = (Map<String, List<?>>) listeners
+                .get(properties);
+        if (listenersByProperty == null
+                || !listenersByProperty.containsKey("required")) {
+            return 0;
+        }
+        return listenersByProperty.get("required").size();
+    }
+}
@@ -0,0 +1,186 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.textfield.TextField;
+
+/**
+ * Simulates users building, editing and tearing down forms concurrently, each
+ * in a UI and session of their own without a browser or network. Measures
+ * the heap per UI, the time to generate a response and the response size for
+ * each phase, logs them, and fails when the optional limits are exceeded. Runs only
+ * with the system property {@code loadTests} set to true. The load is set
+ * with the system properties {@code loadSimulation.users},
+ * {@code loadSimulation.threads} and {@code loadSimulation.items}, and the
+ * limits with {@code loadSimulation.maxResponseMicros},
+ * {@code loadSimulation.maxPayloadBytes} and
+ * {@code loadSimulation.maxHeapPerUI}, e.g.
+ * {@code mvn test -Dtest=LoadSimulationTest -DloadTests=true
+ * -DloadSimulation.users=5000}.
+ */
+public class LoadSimulationTest {
+
+    private static final int USERS = Integer
+            .getInteger("loadSimulation.users", 200);
+    private static final int THREADS = Integer
+            .getInteger("loadSimulation.threads", 8);
+    private static final int ITEMS = Integer
+            .getInteger("loadSimulation.items", 50);
+    // UIs kept alive at once for measuring the heap per UI
+    private static final int RETAINED_UIS = Math.min(USERS, 100);
+    private static final long MAX_RESPONSE_MICROS = Long
+            .getLong("loadSimulation.maxResponseMicros", Long.MAX_VALUE);
+    private static final long MAX_PAYLOAD_BYTES = Long
+            .getLong("loadSimulation.maxPayloadBytes", Long.MAX_VALUE);
+    private static final long MAX_HEAP_PER_UI = Long
+            .getLong("loadSimulation.maxHeapPerUI", Long.MAX_VALUE);
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(LoadSimulationTest.class);
+
+    private enum Phase {
+        BUILD, EDIT, TEARDOWN
+    }
+
+    @Before
+    public void setup() {
+        Assume.assumeTrue(Boolean.getBoolean("loadTests"));
+    }
+
+    @Test
+    public void concurrentUsers_responseTimeAndPayloadWithinLimits()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[][]>> results = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            results.add(executor.submit(LoadSimulationTest::simulateUser));
+        }
+        // Per phase: response nanos and payload bytes summed over the users
+        long[][] totals = new long[Phase.values().length][2];
+        for (Future<long[][]> result : results) {
+            long[][] user = result.get();
+            for (Phase phase : Phase.values()) {
+                totals[phase.ordinal()][0] += user[phase.ordinal()][0];
+                totals[phase.ordinal()][1] += user[phase.ordinal()][1];
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        LOGGER.info("{} users, {} threads, {} items per form", USERS, THREADS,
+                ITEMS);
+        for (Phase phase : Phase.values()) {
+            long micros = totals[phase.ordinal()][0] / USERS / 1000;
+            long bytes = totals[phase.ordinal()][1] / USERS;
+            LOGGER.info("{} response {} us, payload {} bytes", phase, micros,
+                    bytes);
+            assertTrue(phase + " response took " + micros + " us",
+                    micros <= MAX_RESPONSE_MICROS);
+            assertTrue(phase + " payload was " + bytes + " bytes",
+                    bytes <= MAX_PAYLOAD_BYTES);
+        }
+        assertTrue(totals[Phase.BUILD.ordinal()][1] > 0);
+        assertTrue(totals[Phase.EDIT.ordinal()][1] > 0);
+    }
+
+    @Test
+    public void retainedUIs_heapPerUIWithinLimit() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeap(memory);
+        UI[] uis = new UI[RETAINED_UIS];
+        for (int i = 0; i < uis.length; i++) {
+            InMemorySession session = new InMemorySession();
+            session.getLockInstance().lock();
+            try {
+                uis[i] = session.createUI();
+                buildForm(uis[i]);
+                UidlPayload.measure(uis[i]);
+            } finally {
+                session.getLockInstance().unlock();
+            }
+        }
+        long after = usedHeap(memory);
+
+        long perUI = (after - before) / uis.length;
+        LOGGER.info("{} UIs with {} items: {} bytes per UI", uis.length, ITEMS,
+                perUI);
+        assertTrue(perUI + " bytes per UI", perUI <= MAX_HEAP_PER_UI);
+        assertEquals(RETAINED_UIS,
+                Arrays.stream(uis).filter(ui -> ui.getChildren().count() == 1)
+                        .count());
+    }
+
+    private static long[][] simulateUser() {
+        long[][] result = new long[Phase.values().length][];
+        InMemorySession session = new InMemorySession();
+        session.getLockInstance().lock();
+        try {
+            UI ui = session.createUI();
+            UI.setCurrent(ui);
+            UidlPayload.measure(ui);
+
+            EnhancedFormLayout layout = buildForm(ui);
+            result[Phase.BUILD.ordinal()] = respond(ui);
+
+            layout.markClean();
+            layout.getChildren().limit(ITEMS / 2)
+                    .map(child -> ((EnhancedFormItem) child).getChildren()
+                            .filter(comp -> comp instanceof TextField)
+                            .findFirst().get())
+                    .forEach(field -> ((TextField) field).setValue("edited"));
+            result[Phase.EDIT.ordinal()] = respond(ui);
+            assertTrue(layout.isDirty());
+
+            ui.removeAll();
+            result[Phase.TEARDOWN.ordinal()] = respond(ui);
+        } finally {
+            UI.setCurrent(null);
+            session.getLockInstance().unlock();
+        }
+        return result;
+    }
+
+    private static EnhancedFormLayout buildForm(UI ui) {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        List<FormItemSpec> specs = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            TextField field = new TextField();
+            field.setRequiredIndicatorVisible(i % 3 == 0);
+            specs.add(new FormItemSpec(field, "Field " + i));
+        }
+        layout.addFormItems(specs);
+        ui.add(layout);
+        return layout;
+    }
+
+    private static long[] respond(UI ui) {
+        long start = System.nanoTime();
+        int payload = UidlPayload.measure(ui);
+        return new long[] { System.nanoTime() - start, payload };
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,84 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Text;
+import com.vaadin.flow.component.textfield.TextField;
+
+public class ReadOnlyTest {
+
+    private EnhancedFormLayout layout;
+    private TextField field;
+    private EnhancedFormItem formItem;
+
+    @Before
+    public void setup() {
+        layout = new EnhancedFormLayout();
+        field = new TextField();
+        field.setValue("value");
+        formItem = layout.addFormItem(field, "Field");
+    }
+
+    @Test
+    public void setReadOnly_fieldReplacedWithText() {
+        layout.setReadOnly(true);
+
+        assertFalse(field.getParent().isPresent());
+        assertEquals("value", readOnlyText().get());
+    }
+
+    @Test
+    public void setReadOnlyFalse_fieldRestored() {
+        layout.setReadOnly(true);
+
+        layout.setReadOnly(false);
+
+        assertSame(formItem, field.getParent().get());
+        assertFalse(readOnlyText().isPresent());
+    }
+
+    @Test
+    public void setReadOnlyText_usedInsteadOfValue() {
+        formItem.setReadOnlyText(() -> "custom");
+
+        layout.setReadOnly(true);
+
+        assertEquals("custom", readOnlyText().get());
+    }
+
+    @Test
+    public void setReadOnlyAgain_textRefreshed() {
+        layout.setReadOnly(true);
+        field.setValue("changed");
+
+        layout.setReadOnly(true);
+
+        assertEquals("changed", readOnlyText().get());
+        assertEquals(1, formItem.getChildren()
+                .filter(child -> child instanceof Text).count());
+    }
+
+    @Test
+    public void setReadOnlyFormatter_valueFormatted() {
+        layout.setReadOnlyFormatter(value -> "<" + value + ">");
+
+        layout.setReadOnly(true);
+
+        assertTrue(layout.isReadOnly());
+        assertEquals("<value>", readOnlyText().get());
+    }
+
+    private Optional<String> readOnlyText() {
+        return formItem.getChildren().filter(child -> child instanceof Text)
+                .map(child -> ((Text) child).getText()).findFirst();
+    }
+}
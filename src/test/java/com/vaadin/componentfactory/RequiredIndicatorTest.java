@@ -0,0 +1,112 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.textfield.TextField;
+
+public class RequiredIndicatorTest {
+
+    private static final String REQUIRED_DOT_OPACITY = "--required-dot-opacity";
+
+    private UI ui;
+    private EnhancedFormLayout layout;
+    private TextField field;
+
+    @Before
+    public void setup() {
+        ui = new UI();
+        layout = new EnhancedFormLayout();
+        ui.add(layout);
+        field = new TextField();
+        field.setRequiredIndicatorVisible(true);
+        field.setValue("initial");
+    }
+
+    @Test
+    public void attached_withValue_shownUntilValueChanged() {
+        EnhancedFormItem formItem = layout.addFormItem(field, "Field");
+
+        assertEquals("1", dotOpacity(formItem));
+        field.setValue("changed");
+        assertNull(dotOpacity(formItem));
+    }
+
+    @Test
+    public void reattached_withValue_shown() {
+        EnhancedFormItem formItem = layout.addFormItem(field, "Field");
+
+        ui.remove(layout);
+        ui.add(layout);
+
+        assertEquals("1", dotOpacity(formItem));
+    }
+
+    @Test
+    public void valueChangedWhileDetached_hiddenOnAttach() {
+        EnhancedFormItem formItem = layout.addFormItem(field, "Field");
+        ui.remove(layout);
+
+        field.setValue("changed");
+        ui.add(layout);
+
+        assertNull(dotOpacity(formItem));
+    }
+
+    @Test
+    public void sticky_shownAfterValueChanged() {
+        layout.setStickyIndicator(true);
+        EnhancedFormItem formItem = layout.addFormItem(field, "Field");
+
+        field.setValue("changed");
+
+        assertEquals("1", dotOpacity(formItem));
+    }
+
+    @Test
+    public void requiredBeforeFirstAttach_shownOnAttach() {
+        EnhancedFormLayout detached = new EnhancedFormLayout();
+        TextField optional = new TextField();
+        EnhancedFormItem formItem = detached.addFormItem(optional, "Field");
+
+        optional.setRequiredIndicatorVisible(true);
+        ui.add(detached);
+
+        assertEquals("1", dotOpacity(formItem));
+        optional.setValue("changed");
+        assertNull(dotOpacity(formItem));
+    }
+
+    @Test
+    public void valueSetBeforeFirstAttach_hiddenOnAttach() {
+        EnhancedFormLayout detached = new EnhancedFormLayout();
+        EnhancedFormItem formItem = detached.addFormItem(field, "Field");
+
+        field.setValue("read from bean");
+        ui.add(detached);
+
+        assertNull(dotOpacity(formItem));
+    }
+
+    @Test
+    public void notRequiredBeforeFirstAttach_hiddenOnAttach() {
+        EnhancedFormLayout detached = new EnhancedFormLayout();
+        EnhancedFormItem formItem = detached.addFormItem(field, "Field");
+
+        field.setRequiredIndicatorVisible(false);
+        ui.add(detached);
+
+        assertNull(dotOpacity(formItem));
+        field.setRequiredIndicatorVisible(true);
+        assertEquals("1", dotOpacity(formItem));
+    }
+
+    private static String dotOpacity(EnhancedFormItem formItem) {
+        return formItem.getElement().getStyle().get(REQUIRED_DOT_OPACITY);
+    }
+}
@@ -0,0 +1,85 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep;
+import com.vaadin.flow.component.formlayout.FormLayout.ResponsiveStep.LabelsPosition;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+public class ResponsiveStepsTest {
+
+    @Test
+    public void getResponsiveSteps_sameInstanceUntilChanged() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.setResponsiveSteps(new ResponsiveStep("0", 1),
+                new ResponsiveStep("20em", 2, LabelsPosition.TOP));
+
+        List<ResponsiveStep> steps = layout.getResponsiveSteps();
+        assertSame(steps, layout.getResponsiveSteps());
+        assertEquals(2, steps.size());
+
+        layout.setResponsiveSteps(new ResponsiveStep("0", 1));
+        List<ResponsiveStep> changed = layout.getResponsiveSteps();
+        assertNotSame(steps, changed);
+        assertEquals(1, changed.size());
+        assertSame(changed, layout.getResponsiveSteps());
+    }
+
+    @Test
+    public void getResponsiveSteps_matchesSetSteps() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        List<ResponsiveStep> steps = Arrays.asList(
+                new ResponsiveStep("0", 1, LabelsPosition.TOP),
+                new ResponsiveStep("20em", 2, LabelsPosition.ASIDE),
+                new ResponsiveStep("40em", 3));
+        layout.setResponsiveSteps(steps);
+
+        assertEquals(toJson(steps), toJson(layout.getResponsiveSteps()));
+    }
+
+    @Test
+    public void getResponsiveSteps_propertyChangedDirectly_parsedAgain() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.setResponsiveSteps(new ResponsiveStep("0", 1));
+        List<ResponsiveStep> steps = layout.getResponsiveSteps();
+
+        JsonArray json = Json.createArray();
+        json.set(0, new ResponsiveStep("0", 2).toJson());
+        json.set(1, new ResponsiveStep("30em", 4).toJson());
+        layout.getElement().setPropertyJson("responsiveSteps", json);
+
+        assertNotSame(steps, layout.getResponsiveSteps());
+        assertEquals(2, layout.getResponsiveSteps().size());
+    }
+
+    @Test
+    public void getResponsiveSteps_unmodifiable() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.setResponsiveSteps(new ResponsiveStep("0", 1));
+
+        assertThrows(UnsupportedOperationException.class, () -> layout
+                .getResponsiveSteps().add(new ResponsiveStep("0", 2)));
+    }
+
+    @Test
+    public void getResponsiveSteps_notSet_empty() {
+        assertTrue(new EnhancedFormLayout().getResponsiveSteps().isEmpty());
+    }
+
+    private static List<String> toJson(List<ResponsiveStep> steps) {
+        return steps.stream().map(step -> step.toJson().toJson())
+                .collect(Collectors.toList());
+    }
+}
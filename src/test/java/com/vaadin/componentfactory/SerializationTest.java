@@ -0,0 +1,97 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.AbstractField.ComponentValueChangeEvent;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.textfield.TextField;
+
+/**
+ * Serializes a UI with a 500 item form like session replication does and
+ * checks that the deserialized layout still works.
+ */
+public class SerializationTest {
+
+    private static final int ITEMS = 500;
+    private static final String REQUIRED_DOT_OPACITY = "--required-dot-opacity";
+
+    private EnhancedFormLayout layout;
+    private EnhancedFormItem formItem;
+    private TextField field;
+
+    @Before
+    public void setup() throws Exception {
+        UI ui = new UI();
+        EnhancedFormLayout original = new EnhancedFormLayout();
+        ui.add(original);
+        for (int i = 0; i < ITEMS; i++) {
+            TextField field = new TextField();
+            field.setRequiredIndicatorVisible(true);
+            original.addFormItem(field, "Field " + i);
+        }
+
+        UI copy = Replication.replicate(ui);
+        layout = (EnhancedFormLayout) copy.getChildren().findFirst().get();
+        formItem = (EnhancedFormItem) layout.getChildren().findFirst().get();
+        field = (TextField) formItem.getChildren()
+                .filter(child -> child instanceof TextField).findFirst()
+                .get();
+    }
+
+    @Test
+    public void deserialize_allItems() {
+        assertEquals(ITEMS, layout.getChildren().count());
+    }
+
+    @Test
+    public void deserialize_requiredIndicatorFollowsValue() {
+        assertEquals("1",
+                formItem.getElement().getStyle().get(REQUIRED_DOT_OPACITY));
+
+        field.setValue("value");
+        assertNull(formItem.getElement().getStyle().get(REQUIRED_DOT_OPACITY));
+    }
+
+    @Test
+    public void deserialize_requiredIndicatorFollowsRequired() {
+        field.setRequiredIndicatorVisible(false);
+
+        assertNull(formItem.getElement().getStyle().get(REQUIRED_DOT_OPACITY));
+    }
+
+    @Test
+    public void deserialize_reattached_listenersNotDuplicated() {
+        int ownListeners = valueChangeListenerCount(new TextField());
+
+        layout.remove(formItem);
+        assertEquals(ownListeners, valueChangeListenerCount(field));
+        layout.addComponentAtIndex(0, formItem);
+        assertEquals(ownListeners + 1, valueChangeListenerCount(field));
+
+        field.setValue("value");
+        assertNull(formItem.getElement().getStyle().get(REQUIRED_DOT_OPACITY));
+    }
+
+    @Test
+    public void deserialize_dirtyTracked() {
+        layout.markClean();
+        assertFalse(layout.isDirty());
+
+        field.setValue("value");
+        assertTrue(layout.isDirty());
+        assertEquals(formItem, layout.getDirtyItems().get(0));
+    }
+
+    private static int valueChangeListenerCount(TextField field) {
+        return ComponentUtil
+                .getListeners(field, ComponentValueChangeEvent.class).size();
+    }
+}
@@ -0,0 +1,147 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.textfield.TextField;
+
+public class SetItemsTest {
+
+    @Test
+    public void findStableItems_sameOrder_allStable() {
+        assertArrayEquals(new boolean[] { true, true, true },
+                EnhancedFormLayout.findStableItems(new int[] { 0, 1, 2 }));
+    }
+
+    @Test
+    public void findStableItems_reversed_oneStable() {
+        boolean[] stable = EnhancedFormLayout
+                .findStableItems(new int[] { 3, 2, 1, 0 });
+
+        assertEquals(1, count(stable));
+    }
+
+    @Test
+    public void findStableItems_oneMovedToEnd_othersStable() {
+        assertArrayEquals(new boolean[] { true, true, true, false },
+                EnhancedFormLayout.findStableItems(new int[] { 1, 2, 3, 0 }));
+    }
+
+    @Test
+    public void findStableItems_oneMovedToStart_othersStable() {
+        assertArrayEquals(new boolean[] { false, true, true, true },
+                EnhancedFormLayout.findStableItems(new int[] { 3, 0, 1, 2 }));
+    }
+
+    @Test
+    public void findStableItems_newItems_notStable() {
+        assertArrayEquals(new boolean[] { true, false, true, false },
+                EnhancedFormLayout
+                        .findStableItems(new int[] { 0, -1, 1, -1 }));
+    }
+
+    @Test
+    public void findStableItems_swappedPairs_longestRunStable() {
+        boolean[] stable = EnhancedFormLayout
+                .findStableItems(new int[] { 1, 0, 3, 2, 4 });
+
+        assertEquals(3, count(stable));
+        assertTrue(stable[4]);
+    }
+
+    @Test
+    public void findStableItems_empty() {
+        assertEquals(0, EnhancedFormLayout.findStableItems(new int[0]).length);
+    }
+
+    @Test
+    public void setItems_reordered_itemsReused() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        List<FormItemSpec> specs = Arrays.asList(spec("a"), spec("b"),
+                spec("c"));
+        List<EnhancedFormItem> formItems = layout.setItems(specs,
+                FormItemSpec::getLabelText);
+
+        List<EnhancedFormItem> reordered = layout.setItems(
+                Arrays.asList(specs.get(2), specs.get(0), specs.get(1)),
+                FormItemSpec::getLabelText);
+
+        assertSame(formItems.get(2), reordered.get(0));
+        assertSame(formItems.get(0), reordered.get(1));
+        assertSame(formItems.get(1), reordered.get(2));
+        assertEquals(reordered,
+                layout.getChildren().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void setItems_removedAndAdded() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        List<EnhancedFormItem> formItems = layout.setItems(
+                Arrays.asList(spec("a"), spec("b")),
+                FormItemSpec::getLabelText);
+
+        List<EnhancedFormItem> changed = layout.setItems(
+                Arrays.asList(spec("c"), spec("a")),
+                FormItemSpec::getLabelText);
+
+        assertSame(formItems.get(0), changed.get(1));
+        List<Component> children = layout.getChildren()
+                .collect(Collectors.toList());
+        assertEquals(changed, children);
+    }
+
+    @Test
+    public void setItems_labelProvider_labelStaysTranslated() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.relabel(Locale.GERMAN,
+                (key, locale) -> key.equals("name") ? "Name (de)" : null);
+        List<EnhancedFormItem> formItems = layout.setItems(
+                Arrays.asList(spec("name")), FormItemSpec::getLabelText);
+
+        layout.setItems(Arrays.asList(spec("name")), spec -> "name");
+
+        assertEquals("Name (de)", labelText(formItems.get(0)));
+        assertEquals("name", formItems.get(0).getLabelKey());
+    }
+
+    @Test
+    public void setItems_labelProvider_changedKeyTranslated() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.relabel(Locale.GERMAN, (key, locale) -> key + " (de)");
+        List<EnhancedFormItem> formItems = layout.setItems(
+                Arrays.asList(spec("name")), spec -> 1);
+
+        layout.setItems(Arrays.asList(spec("email")), spec -> 1);
+
+        assertEquals("email (de)", labelText(formItems.get(0)));
+    }
+
+    private static String labelText(EnhancedFormItem formItem) {
+        return formItem.getElement().getChildren()
+                .filter(child -> "label".equals(child.getAttribute("slot")))
+                .findFirst().get().getText();
+    }
+
+    private static FormItemSpec spec(String label) {
+        return new FormItemSpec(new TextField(), label);
+    }
+
+    private static int count(boolean[] values) {
+        int count = 0;
+        for (boolean value : values) {
+            count += value ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,65 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+/**
+ * Checks that the layout defaults set on the layout reach the form items
+ * through the variables the form item theme reads, as the vaadin-form-item
+ * variables declared by the theme on the form item would shadow them.
+ */
+public class ThemeVariablesTest {
+
+    private static final String FORM_ITEM_THEME = "/META-INF/resources/frontend/styles/enhanced-form-item.css";
+
+    @Test
+    public void setFormItemLabelWidth_enhancedVariableSet() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+
+        layout.setFormItemLabelWidth("10em");
+
+        assertEquals("10em", layout.getElement().getStyle()
+                .get("--enhanced-form-item-label-width"));
+        assertNull(layout.getElement().getStyle()
+                .get("--vaadin-form-item-label-width"));
+    }
+
+    @Test
+    public void setFormItemRowSpacing_enhancedVariableSet() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+
+        layout.setFormItemRowSpacing("10px");
+
+        assertEquals("10px", layout.getElement().getStyle()
+                .get("--enhanced-form-item-row-spacing"));
+        assertNull(layout.getElement().getStyle()
+                .get("--vaadin-form-item-row-spacing"));
+    }
+
+    @Test
+    public void formItemTheme_readsEnhancedVariables() throws IOException {
+        String css = readFormItemTheme();
+
+        assertTrue(css.contains("--vaadin-form-item-label-width: "
+                + "var(--enhanced-form-item-label-width"));
+        assertTrue(css.contains("--vaadin-form-item-row-spacing: "
+                + "var(--enhanced-form-item-row-spacing"));
+    }
+
+    private static String readFormItemTheme() throws IOException {
+        try (InputStream in = ThemeVariablesTest.class
+                .getResourceAsStream(FORM_ITEM_THEME);
+                Scanner scanner = new Scanner(in,
+                        StandardCharsets.UTF_8.name())) {
+            return scanner.useDelimiter("\\A").next();
+        }
+    }
+}
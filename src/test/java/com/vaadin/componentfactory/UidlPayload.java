@@ -0,0 +1,44 @@
+package com.vaadin.componentfactory;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.StateTree;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/**
+ * Measures the size of the next response of a UI without a browser, i.e. the
+ * state tree changes, the new constants and the JavaScript invocations
+ * serialized like they are in the UIDL. The measured changes are consumed.
+ */
+final class UidlPayload {
+
+    private UidlPayload() {
+    }
+
+    static int measure(UI ui) {
+        StateTree stateTree = ui.getInternals().getStateTree();
+        stateTree.runExecutionsBeforeClientResponse();
+        ConstantPool constantPool = new ConstantPool();
+        JsonArray changes = Json.createArray();
+        stateTree.collectChanges(change -> changes.set(changes.length(),
+                change.toJson(constantPool)));
+        int size = changes.toJson().length();
+        if (constantPool.hasNewConstants()) {
+            size += constantPool.dumpConstants().toJson().length();
+        }
+        for (PendingJavaScriptInvocation invocation : ui.getInternals()
+                .dumpPendingJavaScriptInvocations()) {
+            size += invocation.getInvocation().getExpression().length();
+            for (Object parameter : invocation.getInvocation()
+                    .getParameters()) {
+                size += JsonCodec.encodeWithTypeInfo(parameter).toJson()
+                        .length();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,161 @@
+package com.vaadin.componentfactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.vaadin.componentfactory.EnhancedFormLayout.EnhancedFormItem;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+
+import elemental.json.Json;
+
+public class VirtualizedTest {
+
+    @Test
+    public void addFormItems_firstChunkCreated() {
+        EnhancedFormLayout layout = createLayout();
+
+        List<EnhancedFormItem> formItems = layout.addFormItems(specs(25));
+
+        assertEquals(10, formItems.size());
+        assertEquals(10, layout.getChildren().count());
+    }
+
+    @Test
+    public void addFormItems_whilePending_queued() {
+        EnhancedFormLayout layout = createLayout();
+        layout.addFormItems(specs(25));
+
+        assertTrue(layout.addFormItems(specs(5)).isEmpty());
+        assertEquals(10, layout.getChildren().count());
+    }
+
+    @Test
+    public void componentsAddedWhilePending_keptAfterPendingItems() {
+        EnhancedFormLayout layout = createLayout();
+        layout.addFormItems(specs(25));
+
+        layout.addFormItem(new TextField(), "Later");
+        layout.addLazyFormItem(TextField::new, "Lazy");
+        layout.addSection("Section");
+        layout.add(new Div());
+        fireRangeEvent(layout);
+
+        assertEquals(24, layout.getChildren().count());
+        assertEquals("Field 19", describe(layout.getChildren()
+                .collect(Collectors.toList()).get(19)));
+        assertEquals("Later", describe(layout.getChildren()
+                .collect(Collectors.toList()).get(20)));
+
+        layout.setVirtualized(false);
+
+        List<String> order = layout.getChildren().map(VirtualizedTest::describe)
+                .collect(Collectors.toList());
+        assertEquals(29, order.size());
+        assertEquals("Field 24", order.get(24));
+        assertEquals("Later", order.get(25));
+        assertEquals("Lazy", order.get(26));
+        assertEquals(FormSection.class.getSimpleName(), order.get(27));
+        assertEquals(Div.class.getSimpleName(), order.get(28));
+    }
+
+    @Test
+    public void removeAll_pendingItemsDiscarded() {
+        EnhancedFormLayout layout = createLayout();
+        layout.addFormItems(specs(25));
+
+        layout.removeAll();
+        List<EnhancedFormItem> formItems = layout.addFormItems(specs(5));
+
+        assertEquals(5, formItems.size());
+        assertEquals(5, layout.getChildren().count());
+    }
+
+    @Test
+    public void setVirtualizedFalse_afterRemoveAll_nothingCreated() {
+        EnhancedFormLayout layout = createLayout();
+        layout.addFormItems(specs(25));
+
+        layout.removeAll();
+        layout.setVirtualized(false);
+
+        assertEquals(0, layout.getChildren().count());
+    }
+
+    @Test
+    public void lazySpecs_fieldsCreatedForRenderedChunkOnly() {
+        EnhancedFormLayout layout = createLayout();
+        new UI().add(layout);
+        AtomicInteger created = new AtomicInteger();
+
+        layout.addFormItems(lazySpecs(25, created));
+
+        assertEquals(10, created.get());
+        assertEquals(10, layout.getChildren().count());
+    }
+
+    @Test
+    public void lazySpecs_pendingSpecsSmallerThanFieldSpecs() {
+        long lazy = GraphLayout
+                .parseInstance(lazySpecs(100, new AtomicInteger()))
+                .totalSize();
+        long eager = GraphLayout.parseInstance(specs(100)).totalSize();
+
+        assertTrue("Lazy " + lazy + " bytes, eager " + eager + " bytes",
+                lazy * 10 < eager);
+    }
+
+    private static void fireRangeEvent(EnhancedFormLayout layout) {
+        layout.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(layout.getElement(),
+                        "enhanced-form-layout-range", Json.createObject()));
+    }
+
+    private static String describe(Component component) {
+        if (component instanceof EnhancedFormItem) {
+            return component.getElement().getChildren()
+                    .filter(child -> "label".equals(child.getAttribute("slot")))
+                    .findFirst().map(child -> child.getText()).orElse(null);
+        }
+        return component.getClass().getSimpleName();
+    }
+
+    private static List<FormItemSpec> lazySpecs(int count,
+            AtomicInteger created) {
+        List<FormItemSpec> specs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            specs.add(new FormItemSpec(() -> {
+                created.incrementAndGet();
+                return new TextField();
+            }, "Field " + i));
+        }
+        return specs;
+    }
+
+    private static EnhancedFormLayout createLayout() {
+        EnhancedFormLayout layout = new EnhancedFormLayout();
+        layout.setVirtualized(true);
+        layout.setVirtualizedChunkSize(10);
+        return layout;
+    }
+
+    private static List<FormItemSpec> specs(int count) {
+        List<FormItemSpec> specs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            specs.add(new FormItemSpec(new TextField(), "Field " + i));
+        }
+        return specs;
+    }
+}